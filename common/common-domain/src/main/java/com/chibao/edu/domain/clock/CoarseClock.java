@@ -0,0 +1,93 @@
+package com.chibao.edu.domain.clock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ? UTC clock whose time is refreshed every tick by one daemon thread. Readers only do a volatile read,
+// * at the cost of being up to one tick behind the system clock. close() stops the ticker thread.
+final class CoarseClock extends Clock implements AutoCloseable {
+    private final ScheduledExecutorService ticker;
+    private volatile long currentMillis;
+
+    CoarseClock(Duration tick) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Coarse clock tick must be positive!");
+        }
+        this.currentMillis = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "domain-coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickNanos = tick.toNanos();
+        ticker.scheduleAtFixedRate(() -> currentMillis = System.currentTimeMillis(),
+                tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    // ? other zones get a view that reads this clock's cached time, so they tick (and stop) together
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (ZoneOffset.UTC.equals(zone)) {
+            return this;
+        }
+        return new ZonedView(this, zone);
+    }
+
+    @Override
+    public long millis() {
+        return currentMillis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(currentMillis);
+    }
+
+    // * after close the clock keeps returning the last refreshed time
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    // TODO Helpers
+    private static final class ZonedView extends Clock {
+        private final CoarseClock source;
+        private final ZoneId zone;
+
+        private ZonedView(CoarseClock source, ZoneId zone) {
+            this.source = source;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return source.withZone(zone);
+        }
+
+        @Override
+        public long millis() {
+            return source.millis();
+        }
+
+        @Override
+        public Instant instant() {
+            return source.instant();
+        }
+    }
+}
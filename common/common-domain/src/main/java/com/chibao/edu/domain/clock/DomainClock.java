@@ -0,0 +1,56 @@
+package com.chibao.edu.domain.clock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+// ? Single source of "now" for the domain. The zone is the cached ZoneOffset.UTC constant, so taking a
+// * timestamp never resolves a zone id by name. Tests can pass a fixed or offset java.time.Clock.
+// * A coarse clock owns a ticker thread, so its owner has to close it; closing any other clock does nothing.
+public final class DomainClock implements AutoCloseable {
+    public static final ZoneOffset UTC = ZoneOffset.UTC;
+
+    private final Clock clock;
+
+    private DomainClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public static DomainClock systemUtc() {
+        return new DomainClock(Clock.systemUTC());
+    }
+
+    public static DomainClock of(Clock clock) {
+        return new DomainClock(clock.withZone(UTC));
+    }
+
+    public static DomainClock fixed(Instant instant) {
+        return new DomainClock(Clock.fixed(instant, UTC));
+    }
+
+    // ? for high-rate paths: reads a millisecond value refreshed by a background ticker, stopped by close()
+    public static DomainClock coarse(Duration tick) {
+        return new DomainClock(new CoarseClock(tick));
+    }
+
+    public Instant instant() {
+        return clock.instant();
+    }
+
+    public long millis() {
+        return clock.millis();
+    }
+
+    public ZonedDateTime now() {
+        return ZonedDateTime.ofInstant(clock.instant(), UTC);
+    }
+
+    @Override
+    public void close() {
+        if (clock instanceof CoarseClock coarseClock) {
+            coarseClock.close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.chibao.edu.domain.event.publisher;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// ? Where the broker wrote a published record
+@Getter
+@ToString
+public class PublishReceipt {
+    private final String topic;
+    private final int partition;
+    private final long offset;
+
+    public PublishReceipt(String topic, int partition, long offset) {
+        this.topic = topic;
+        this.partition = partition;
+        this.offset = offset;
+    }
+}
@@ -0,0 +1,9 @@
+package com.chibao.edu.domain.id_generator;
+
+import java.util.UUID;
+
+// ? Source of identifiers for aggregates and value objects, so the domain never calls UUID.randomUUID() directly
+// * and callers can plug in time-ordered ids (or fixed ids in tests).
+public interface IdGenerator {
+    UUID generate();
+}
@@ -0,0 +1,44 @@
+package com.chibao.edu.domain.id_generator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// ? RFC 9562 UUIDv7: 48 bit unix epoch millis | version 7 | 12 bit sequence | variant | 62 random bits.
+// * Ids are ordered by creation time, so they land at the right edge of B-tree indexes instead of scattering.
+// * Each thread keeps its own last timestamp and sequence and draws entropy from ThreadLocalRandom,
+// * so there is no shared SecureRandom and no lock. Ids are strictly increasing per thread and
+// * millisecond ordered across threads.
+public final class UuidV7Generator implements IdGenerator {
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    // * sequence starts randomly in the lower half, leaving room to count up within the same millisecond
+    private static final int SEQUENCE_SEED_BOUND = 1 << (SEQUENCE_BITS - 1);
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public UUID generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        State state = STATE.get();
+        long now = System.currentTimeMillis();
+        if (now > state.lastMillis) {
+            state.lastMillis = now;
+            state.sequence = random.nextInt(SEQUENCE_SEED_BOUND);
+        } else if (++state.sequence > MAX_SEQUENCE) {
+            // ? sequence exhausted (or clock went backwards): borrow the next millisecond to stay monotonic
+            state.lastMillis++;
+            state.sequence = random.nextInt(SEQUENCE_SEED_BOUND);
+        }
+        long mostSigBits = (state.lastMillis << 16) | VERSION_7 | state.sequence;
+        long leastSigBits = (random.nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static final class State {
+        private long lastMillis = -1;
+        private int sequence;
+    }
+}
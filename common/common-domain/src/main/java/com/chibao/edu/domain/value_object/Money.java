@@ -1,50 +1,128 @@
 package com.chibao.edu.domain.value_object;
 
-import lombok.Getter;
-
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Objects;
 
-@Getter
+// ? Money keeps amounts that fit into a long as minor units (cents), so add/subtract/multiply/equals
+// * on normal prices are plain long arithmetic. Anything with more than 2 decimals or outside the long
+// * range falls back to BigDecimal. Equality is numeric, so 10.0 equals 10.00.
 public class Money {
-    private final BigDecimal amount;
+    private static final int SCALE = 2;
+
     public static final Money ZERO = new Money(BigDecimal.ZERO);
 
+    private final boolean compact;
+    private final long cents;
+    // ? for compact values created by arithmetic this is materialized lazily on the first getAmount()
+    private BigDecimal amount;
+
     public Money(BigDecimal amount) {
         this.amount = amount;
+        long minorUnits = 0;
+        boolean fits = false;
+        if (amount != null) {
+            BigDecimal scaled = toMinorUnitScale(amount);
+            if (scaled != null && scaled.unscaledValue().bitLength() < Long.SIZE) {
+                minorUnits = scaled.unscaledValue().longValue();
+                fits = true;
+            }
+        }
+        this.compact = fits;
+        this.cents = minorUnits;
+    }
+
+    private Money(long cents) {
+        this.compact = true;
+        this.cents = cents;
+    }
+
+    public BigDecimal getAmount() {
+        BigDecimal result = amount;
+        if (result == null && compact) {
+            // ? racy but idempotent, every thread computes the same value
+            result = BigDecimal.valueOf(cents, SCALE);
+            amount = result;
+        }
+        return result;
     }
 
     public boolean isGreaterThanZero() {
+        if (compact) {
+            return cents > 0;
+        }
         return this.amount != null && this.amount.compareTo(BigDecimal.ZERO) > 0;
     }
 
     public boolean isGreaterThan(Money money) {
-        return this.amount != null && this.amount.compareTo(money.getAmount()) > 0;
+        if (compact && money.compact) {
+            return cents > money.cents;
+        }
+        return getAmount() != null && getAmount().compareTo(money.getAmount()) > 0;
     }
 
     public Money add(Money money) {
-        return new Money(this.amount.add(money.getAmount()));
+        if (compact && money.compact) {
+            long result = cents + money.cents;
+            // * overflow only when both operands have the same sign and the result has the other one
+            if (((cents ^ result) & (money.cents ^ result)) >= 0) {
+                return new Money(result);
+            }
+        }
+        return new Money(getAmount().add(money.getAmount()));
     }
 
     public Money subtract(Money money) {
-        return new Money(this.amount.subtract(money.getAmount()));
+        if (compact && money.compact) {
+            long result = cents - money.cents;
+            if (((cents ^ money.cents) & (cents ^ result)) >= 0) {
+                return new Money(result);
+            }
+        }
+        return new Money(getAmount().subtract(money.getAmount()));
     }
 
     public Money multiply(int multiplier) {
-        return new Money(this.amount.multiply(new BigDecimal(multiplier)));
+        if (compact) {
+            long high = Math.multiplyHigh(cents, multiplier);
+            long low = cents * multiplier;
+            if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+                return new Money(low);
+            }
+        }
+        return new Money(getAmount().multiply(new BigDecimal(multiplier)));
     }
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount);
+        if (compact || money.compact) {
+            // ? compact and non-compact values can never be numerically equal
+            return compact && money.compact && cents == money.cents;
+        }
+        if (amount == null || money.amount == null) {
+            return amount == money.amount;
+        }
+        return amount.compareTo(money.amount) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(amount);
+        if (compact) {
+            return Long.hashCode(cents);
+        }
+        return amount == null ? 0 : amount.stripTrailingZeros().hashCode();
+    }
+
+    // TODO Helpers
+    // ? returns the amount with exactly 2 decimals, or null when that would lose precision
+    private static BigDecimal toMinorUnitScale(BigDecimal input) {
+        if (input.scale() <= SCALE) {
+            return input.setScale(SCALE, RoundingMode.UNNECESSARY);
+        }
+        BigDecimal stripped = input.stripTrailingZeros();
+        return stripped.scale() <= SCALE ? stripped.setScale(SCALE, RoundingMode.UNNECESSARY) : null;
     }
 
     private BigDecimal setScale(BigDecimal input) {
@@ -0,0 +1,5 @@
+package com.chibao.edu.domain.value_object;
+
+public enum PaymentOrderStatus {
+    PENDING, CANCELLED
+}
@@ -0,0 +1,35 @@
+package com.chibao.edu.domain.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoarseClockTest {
+
+    @Test
+    public void testWithUtcZoneReturnsSameClock() {
+        try (CoarseClock coarseClock = new CoarseClock(Duration.ofMillis(1))) {
+            assertSame(coarseClock, coarseClock.withZone(ZoneOffset.UTC));
+        }
+    }
+
+    @Test
+    public void testZonedViewSharesCachedInstant() {
+        ZoneId zone = ZoneId.of("Asia/Ho_Chi_Minh");
+        try (CoarseClock coarseClock = new CoarseClock(Duration.ofMillis(1))) {
+            // * a stopped ticker freezes the cached time, so both clocks must read exactly the same value
+            coarseClock.close();
+            Clock zoned = coarseClock.withZone(zone);
+
+            assertEquals(zone, zoned.getZone());
+            assertEquals(coarseClock.instant(), zoned.instant());
+            assertEquals(coarseClock.millis(), zoned.millis());
+            assertSame(coarseClock, zoned.withZone(ZoneOffset.UTC));
+        }
+    }
+}
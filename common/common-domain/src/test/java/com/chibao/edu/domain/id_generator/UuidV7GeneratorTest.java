@@ -0,0 +1,62 @@
+package com.chibao.edu.domain.id_generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorTest {
+    private final UuidV7Generator uuidV7Generator = new UuidV7Generator();
+
+    @Test
+    public void testVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = uuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        // * the generator may borrow a few milliseconds ahead when a thread exhausts the sequence
+        assertTrue(timestamp >= before && timestamp <= after + 1000, "timestamp " + timestamp);
+    }
+
+    @Test
+    public void testStrictlyIncreasingWithinThread() {
+        // ? far more ids than the 12 bit sequence can hold per millisecond, so borrowing is exercised too
+        UUID previous = uuidV7Generator.generate();
+        for (int i = 0; i < 200_000; i++) {
+            UUID current = uuidV7Generator.generate();
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    previous + " is not before " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testUniqueAcrossThreads() throws InterruptedException {
+        int threads = 8;
+        int idsPerThread = 50_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> workers = IntStream.range(0, threads)
+                .mapToObj(i -> new Thread(() -> {
+                    Set<UUID> local = new HashSet<>();
+                    for (int j = 0; j < idsPerThread; j++) {
+                        local.add(uuidV7Generator.generate());
+                    }
+                    ids.addAll(local);
+                    done.countDown();
+                }))
+                .toList();
+        workers.forEach(Thread::start);
+        done.await();
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+}
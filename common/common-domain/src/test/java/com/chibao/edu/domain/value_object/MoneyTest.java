@@ -0,0 +1,70 @@
+package com.chibao.edu.domain.value_object;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE, 2);
+    private static final Money ONE_CENT = new Money(new BigDecimal("0.01"));
+
+    @Test
+    public void testEqualsIgnoresScale() {
+        Money tenWithOneDecimal = new Money(new BigDecimal("10.0"));
+        Money tenWithTwoDecimals = new Money(new BigDecimal("10.00"));
+        assertEquals(tenWithOneDecimal, tenWithTwoDecimals);
+        assertEquals(tenWithOneDecimal.hashCode(), tenWithTwoDecimals.hashCode());
+    }
+
+    @Test
+    public void testEqualsIgnoresScaleBeyondMinorUnits() {
+        Money withThreeDecimals = new Money(new BigDecimal("1.005"));
+        Money withFourDecimals = new Money(new BigDecimal("1.0050"));
+        assertEquals(withThreeDecimals, withFourDecimals);
+        assertEquals(withThreeDecimals.hashCode(), withFourDecimals.hashCode());
+        assertNotEquals(withThreeDecimals, new Money(new BigDecimal("1.00")));
+    }
+
+    @Test
+    public void testArithmeticResultEqualsConstructedValue() {
+        Money sum = new Money(new BigDecimal("10.00")).add(new Money(new BigDecimal("2.5")));
+        assertEquals(new Money(new BigDecimal("12.50")), sum);
+        assertEquals(new BigDecimal("12.50"), sum.getAmount());
+        assertEquals(new Money(new BigDecimal("37.50")), sum.multiply(3));
+        assertEquals(new Money(new BigDecimal("2.50")), sum.subtract(new Money(BigDecimal.TEN)));
+    }
+
+    @Test
+    public void testAddFallsBackToBigDecimalOnOverflow() {
+        Money result = new Money(MAX_CENTS).add(ONE_CENT);
+        assertEquals(0, MAX_CENTS.add(new BigDecimal("0.01")).compareTo(result.getAmount()));
+        assertEquals(new Money(MAX_CENTS.add(new BigDecimal("0.01"))), result);
+    }
+
+    @Test
+    public void testSubtractFallsBackToBigDecimalOnOverflow() {
+        Money result = new Money(MIN_CENTS).subtract(ONE_CENT);
+        assertEquals(0, MIN_CENTS.subtract(new BigDecimal("0.01")).compareTo(result.getAmount()));
+    }
+
+    @Test
+    public void testMultiplyFallsBackToBigDecimalOnOverflow() {
+        Money result = new Money(MAX_CENTS).multiply(2);
+        assertEquals(0, MAX_CENTS.multiply(BigDecimal.valueOf(2)).compareTo(result.getAmount()));
+        assertEquals(new Money(new BigDecimal("-5.00")), new Money(new BigDecimal("2.50")).multiply(-2));
+    }
+
+    @Test
+    public void testComparisons() {
+        Money ten = new Money(BigDecimal.TEN);
+        assertTrue(ten.isGreaterThanZero());
+        assertFalse(Money.ZERO.isGreaterThanZero());
+        assertFalse(new Money(null).isGreaterThanZero());
+        assertTrue(ten.isGreaterThan(new Money(new BigDecimal("9.99"))));
+        assertFalse(ten.isGreaterThan(new Money(new BigDecimal("10.000"))));
+        assertTrue(new Money(new BigDecimal("10.001")).isGreaterThan(ten));
+    }
+}
@@ -23,4 +23,7 @@ public class KafkaConsumerConfigData {
     private Integer maxPollRecords;
     private Integer maxPartitionFetchBytesDefault;
     private Integer maxPartitionFetchBytesBoostFactor;
+    private String paymentConsumerGroupId;
+    private String restaurantApprovalConsumerGroupId;
+    private String customerConsumerGroupId;
 }
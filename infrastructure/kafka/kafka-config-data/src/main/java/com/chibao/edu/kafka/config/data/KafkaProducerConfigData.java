@@ -17,4 +17,8 @@ public class KafkaProducerConfigData {
     private Integer lingerMs;
     private Integer requestTimeoutMs;
     private Integer retryCount;
+    // * fraction of acknowledged records logged at INFO, with key, topic, partition and offset only
+    private Double logSampleRate = 0.001;
+    // * fraction of those sampled lines that also carry the payload; at DEBUG every record is logged with it
+    private Double payloadLogSampleRate = 0.0;
 }
\ No newline at end of file
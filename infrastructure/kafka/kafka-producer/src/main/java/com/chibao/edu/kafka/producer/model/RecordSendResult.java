@@ -0,0 +1,27 @@
+package com.chibao.edu.kafka.producer.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.kafka.support.SendResult;
+
+// ? Outcome of one record of a sendAll batch: the broker's SendResult, or the exception it failed with
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RecordSendResult<K, V> {
+    private final K key;
+    private final SendResult<K, V> sendResult;
+    private final Throwable exception;
+
+    public static <K, V> RecordSendResult<K, V> success(K key, SendResult<K, V> sendResult) {
+        return new RecordSendResult<>(key, sendResult, null);
+    }
+
+    public static <K, V> RecordSendResult<K, V> failure(K key, Throwable exception) {
+        return new RecordSendResult<>(key, null, exception);
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+}
@@ -1,13 +1,39 @@
 package com.chibao.edu.kafka.producer.service;
 
+import com.chibao.edu.kafka.producer.model.RecordSendResult;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.kafka.support.SendResult;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
 
 public interface KafkaProducer<K extends Serializable, V extends SpecificRecordBase> {
-    void send(String topicName, K key, V message, BiConsumer<SendResult<K, V>, Throwable> callback);
+    // ? Never throws: a record that cannot even be handed to the producer fails the returned future with a
+    // * KafkaProducerException, the same way a record rejected by the broker does.
+    CompletableFuture<SendResult<K, V>> send(String topicName, K key, V message);
+
+    default void send(String topicName, K key, V message, BiConsumer<SendResult<K, V>, Throwable> callback) {
+        CompletableFuture<SendResult<K, V>> future = send(topicName, key, message);
+        if (callback != null) {
+            future.whenComplete(callback);
+        }
+    }
+
+    // ? Hands every record to the producer in list order and returns one future that completes when all of them
+    // * are acknowledged or failed. It never completes exceptionally; results are per record, in list order.
+    default CompletableFuture<List<RecordSendResult<K, V>>> sendAll(String topicName,
+                                                                    List<Map.Entry<K, V>> records) {
+        return sendAll(topicName, records, null);
+    }
+
+    // ? Same as above; recordCallback also runs for each record as soon as that record completes, with its index in
+    // * the list, so a slow record does not hold back the others.
+    CompletableFuture<List<RecordSendResult<K, V>>> sendAll(String topicName, List<Map.Entry<K, V>> records,
+                                                            ObjIntConsumer<RecordSendResult<K, V>> recordCallback);
 }
 
 // ? BiConsumer<T, U> --> functional interface --> method void accept(T t, U u)
@@ -1,33 +1,68 @@
 package com.chibao.edu.kafka.producer.service.impl;
 
+import com.chibao.edu.kafka.config.data.KafkaProducerConfigData;
 import com.chibao.edu.kafka.producer.exception.KafkaProducerException;
+import com.chibao.edu.kafka.producer.model.RecordSendResult;
 import com.chibao.edu.kafka.producer.service.KafkaProducer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.RecordMetadata;
-import org.springframework.kafka.KafkaException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
 
+// ? Nothing on the send path turns a record into a string. Acknowledged records are logged for a configurable
+// * sample only, with key, topic, partition and offset; the payload is added for a second sample or at DEBUG.
+// * The producer completes futures on its network thread, so the work after an ack runs on a callback executor.
 @Slf4j
 @Component
 public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordBase> implements KafkaProducer<K, V> {
 
+    // ? time from send() until the broker acked or the send failed, tagged by topic and outcome only
+    private static final String SEND_TIMER = "kafka.producer.send";
+    // ? time from sendAll() until the last record of the batch completed; failure if any record failed
+    private static final String SEND_ALL_TIMER = "kafka.producer.send.all";
+
     private final KafkaTemplate<K, V> kafkaTemplate;
+    // * without a MeterRegistry bean an empty composite registry is used, which records nothing
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> sendTimers = new ConcurrentHashMap<>();
+    private final double logSampleRate;
+    private final double payloadLogSampleRate;
+    // ? callers' stages may block (e.g. outbox bookkeeping), so one cheap virtual thread per completion
+    private final ExecutorService callbackExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public KafkaProducerImpl(KafkaTemplate<K, V> kafkaTemplate){
+    public KafkaProducerImpl(KafkaTemplate<K, V> kafkaTemplate, KafkaProducerConfigData kafkaProducerConfigData,
+                             ObjectProvider<MeterRegistry> meterRegistryProvider){
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(CompositeMeterRegistry::new);
+        this.logSampleRate = rate(kafkaProducerConfigData.getLogSampleRate());
+        this.payloadLogSampleRate = rate(kafkaProducerConfigData.getPayloadLogSampleRate());
     }
 
     @Override
-    public void send(String topicName, K key, V message, BiConsumer<SendResult<K, V>, Throwable> callback) {
-        log.info("Sending message={} to topic={}", message, topicName);
+    public CompletableFuture<SendResult<K, V>> send(String topicName, K key, V message) {
+        log.debug("Sending message with key={} to topic={}", key, topicName);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<K, V>> future;
         try {
             // ? CompletableFuture --> promise/async primitive
             /*
@@ -38,33 +73,159 @@ public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordB
              * * exceptionally(ex -> fallback) or handle(...) — recover from errors.
              * * get() or join() — block and wait (avoid in reactive/non-blocking code).
              */
-            CompletableFuture<SendResult<K, V>> future = kafkaTemplate.send(topicName, key, message);
-            // Attach callback
-            future.whenComplete((result, ex) -> {
-                if (callback != null) {
-                    callback.accept(result, ex);
-                }
+            future = kafkaTemplate.send(topicName, key, message);
+        } catch (RuntimeException e) {
+            // * KafkaException, serializer errors and anything else thrown before the record is handed over
+            sample.stop(sendTimer(topicName, false));
+            return CompletableFuture.failedFuture(new KafkaProducerException("Error on kafka producer with key: "
+                    + key + " and topic: " + topicName, e));
+        }
+        // ? Failures are left to the caller, who owns the future and knows what the record was for. Only the timer
+        // * is stopped on the network thread; the caller's stages run on the callback executor.
+        CompletableFuture<SendResult<K, V>> result = new CompletableFuture<>();
+        future.whenComplete((sendResult, ex) -> {
+            sample.stop(sendTimer(topicName, ex == null));
+            offload(() -> {
                 if (ex == null) {
-                    RecordMetadata metadata = result.getRecordMetadata();
-                    log.info("Message sent successfully to topic={}, partition={}, offset={}",
-                            metadata.topic(), metadata.partition(), metadata.offset());
+                    logSent(sendResult);
+                    result.complete(sendResult);
                 } else {
-                    log.error("Error on kafka producer with key={}, message={}, exception={}",
-                            key, message, ex.getMessage(), ex);
+                    result.completeExceptionally(ex);
                 }
             });
-        } catch (KafkaException e) {
-            log.error("Error on kafka producer with key={}, message={}, exception={}",
-                    key, message, e.getMessage(), e);
-            throw new KafkaProducerException("Error on kafka producer with key: " + key
-                    + " and message: " + message, e);
+        });
+        return result;
+    }
+
+    // ? No flush here: the producer already sends a partition's batch once it reaches batch.size or has waited
+    // * linger.ms, and flush() would block the caller. Each record decrements one shared counter on completion and,
+    // * when given, runs recordCallback on the callback executor; the last one completes the aggregate future.
+    @Override
+    public CompletableFuture<List<RecordSendResult<K, V>>> sendAll(
+            String topicName, List<Map.Entry<K, V>> records, ObjIntConsumer<RecordSendResult<K, V>> recordCallback) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        log.debug("Sending {} messages to topic={}", records.size(), topicName);
+        BatchSend<K, V> batchSend = new BatchSend<>(records.size(), Timer.start(meterRegistry), recordCallback);
+        for (int i = 0; i < records.size(); i++) {
+            int index = i;
+            K key = records.get(i).getKey();
+            try {
+                kafkaTemplate.send(topicName, key, records.get(i).getValue()).whenComplete((result, ex) ->
+                        complete(topicName, batchSend, index, ex == null
+                                ? RecordSendResult.success(key, result)
+                                : RecordSendResult.failure(key, ex)));
+            } catch (RuntimeException e) {
+                // ? every record must complete, or the aggregate future would never do
+                complete(topicName, batchSend, index, RecordSendResult.failure(key,
+                        new KafkaProducerException("Error on kafka producer with key: " + key + " and topic: "
+                                + topicName, e)));
+            }
         }
+        return batchSend.future;
     }
+
     @PreDestroy
     public void close() {
         if (kafkaTemplate != null) {
             log.info("Closing kafka producer!");
             kafkaTemplate.destroy();
         }
+        callbackExecutor.shutdown();
+    }
+
+    // TODO Helpers
+    private void complete(String topicName, BatchSend<K, V> batchSend, int index, RecordSendResult<K, V> result) {
+        batchSend.results[index] = result;
+        if (!result.isSuccess()) {
+            batchSend.failed.incrementAndGet();
+        }
+        if (batchSend.recordCallback != null) {
+            offload(() -> batchSend.recordCallback.accept(result, index));
+        }
+        // * the decrement publishes the plain array write above to the thread that completes the batch
+        if (batchSend.pending.decrementAndGet() == 0) {
+            int failed = batchSend.failed.get();
+            batchSend.sample.stop(sendAllTimer(topicName, failed == 0));
+            offload(() -> {
+                List<RecordSendResult<K, V>> results = Arrays.asList(batchSend.results);
+                results.stream()
+                        .filter(RecordSendResult::isSuccess)
+                        .forEach(recordSendResult -> logSent(recordSendResult.getSendResult()));
+                log.debug("{} of {} messages sent to topic={}", results.size() - failed, results.size(), topicName);
+                batchSend.future.complete(results);
+            });
+        }
+    }
+
+    // * after close() the remaining completions run on the calling thread
+    private void offload(Runnable task) {
+        try {
+            callbackExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private void logSent(SendResult<K, V> sendResult) {
+        RecordMetadata metadata = sendResult.getRecordMetadata();
+        K key = sendResult.getProducerRecord().key();
+        if (log.isDebugEnabled()) {
+            log.debug("Message with key={} sent to topic={}, partition={}, offset={}, message={}", key,
+                    metadata.topic(), metadata.partition(), metadata.offset(), sendResult.getProducerRecord().value());
+        } else if (log.isInfoEnabled() && sampled(logSampleRate)) {
+            if (sampled(payloadLogSampleRate)) {
+                log.info("Message with key={} sent to topic={}, partition={}, offset={}, message={}", key,
+                        metadata.topic(), metadata.partition(), metadata.offset(),
+                        sendResult.getProducerRecord().value());
+            } else {
+                log.info("Message with key={} sent to topic={}, partition={}, offset={}", key,
+                        metadata.topic(), metadata.partition(), metadata.offset());
+            }
+        }
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static double rate(Double configured) {
+        return configured == null ? 0.0 : Math.max(0.0, Math.min(1.0, configured));
+    }
+
+    private Timer sendAllTimer(String topicName, boolean success) {
+        String outcome = success ? "success" : "failure";
+        return sendTimers.computeIfAbsent(SEND_ALL_TIMER + ':' + topicName + ':' + outcome,
+                ignored -> Timer.builder(SEND_ALL_TIMER)
+                        .tag("topic", topicName)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+    }
+
+    private Timer sendTimer(String topicName, boolean success) {
+        String outcome = success ? "success" : "failure";
+        return sendTimers.computeIfAbsent(topicName + ':' + outcome, ignored -> Timer.builder(SEND_TIMER)
+                .tag("topic", topicName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static final class BatchSend<K, V> {
+        private final RecordSendResult<K, V>[] results;
+        private final AtomicInteger pending;
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Timer.Sample sample;
+        private final ObjIntConsumer<RecordSendResult<K, V>> recordCallback;
+        private final CompletableFuture<List<RecordSendResult<K, V>>> future = new CompletableFuture<>();
+
+        @SuppressWarnings("unchecked")
+        private BatchSend(int size, Timer.Sample sample, ObjIntConsumer<RecordSendResult<K, V>> recordCallback) {
+            this.results = new RecordSendResult[size];
+            this.pending = new AtomicInteger(size);
+            this.sample = sample;
+            this.recordCallback = recordCallback;
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.chibao.edu.benchmark;
+
+import com.chibao.edu.domain.value_object.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// ? The baseline* methods run the same operations on BigDecimalMoney, a copy of Money before the long minor-unit
+// * fast path. bigDecimalReduce is the subtotal reduce Order.validateItemsPrice used to do on raw BigDecimals.
+// * Note the baseline equals is scale sensitive, so baselineEqualsAcrossScales returns false.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    @Param({"10", "50"})
+    int itemCount;
+
+    private final Money price = new Money(new BigDecimal("12.50"));
+    private final Money sameAmountOtherScale = new Money(new BigDecimal("12.5"));
+    private final BigDecimalMoney baselinePrice = new BigDecimalMoney(new BigDecimal("12.50"));
+    private final BigDecimalMoney baselineSameAmountOtherScale = new BigDecimalMoney(new BigDecimal("12.5"));
+    private List<Money> subTotals;
+    private List<BigDecimalMoney> baselineSubTotals;
+    private List<BigDecimal> rawSubTotals;
+
+    @Setup
+    public void setUp() {
+        subTotals = new ArrayList<>(itemCount);
+        baselineSubTotals = new ArrayList<>(itemCount);
+        rawSubTotals = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            BigDecimal subTotal = new BigDecimal("25.00").add(BigDecimal.valueOf(i, 2));
+            subTotals.add(new Money(subTotal));
+            baselineSubTotals.add(new BigDecimalMoney(subTotal));
+            rawSubTotals.add(subTotal);
+        }
+    }
+
+    @Benchmark
+    public Money add() {
+        return price.add(sameAmountOtherScale);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return price.multiply(3);
+    }
+
+    @Benchmark
+    public boolean equalsAcrossScales() {
+        return price.equals(sameAmountOtherScale);
+    }
+
+    @Benchmark
+    public Money moneyReduce() {
+        Money total = Money.ZERO;
+        for (Money subTotal : subTotals) {
+            total = total.add(subTotal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReduce() {
+        return rawSubTotals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimalMoney baselineAdd() {
+        return baselinePrice.add(baselineSameAmountOtherScale);
+    }
+
+    @Benchmark
+    public BigDecimalMoney baselineMultiply() {
+        return baselinePrice.multiply(3);
+    }
+
+    @Benchmark
+    public boolean baselineEqualsAcrossScales() {
+        return baselinePrice.equals(baselineSameAmountOtherScale);
+    }
+
+    @Benchmark
+    public BigDecimalMoney baselineMoneyReduce() {
+        BigDecimalMoney total = BigDecimalMoney.ZERO;
+        for (BigDecimalMoney subTotal : baselineSubTotals) {
+            total = total.add(subTotal);
+        }
+        return total;
+    }
+
+    // * Money as it was before the fast path, kept here only as the benchmark baseline
+    public static final class BigDecimalMoney {
+        static final BigDecimalMoney ZERO = new BigDecimalMoney(BigDecimal.ZERO);
+
+        private final BigDecimal amount;
+
+        BigDecimalMoney(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        BigDecimalMoney add(BigDecimalMoney money) {
+            return new BigDecimalMoney(amount.add(money.amount));
+        }
+
+        BigDecimalMoney multiply(int multiplier) {
+            return new BigDecimalMoney(amount.multiply(new BigDecimal(multiplier)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == null || getClass() != o.getClass()) return false;
+            return Objects.equals(amount, ((BigDecimalMoney) o).amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(amount);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.chibao.edu.benchmark;
+
+import com.chibao.edu.domain.dto.create.CreateOrderCommand;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.id_generator.UuidV7Generator;
+import com.chibao.edu.domain.mapper.OrderDataMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderDataMapperBenchmark {
+    @Param({"1", "10", "50"})
+    int itemCount;
+
+    private final OrderDataMapper orderDataMapper = new OrderDataMapper(new UuidV7Generator());
+    private CreateOrderCommand createOrderCommand;
+
+    @Setup
+    public void setUp() {
+        createOrderCommand = OrderFixtures.createOrderCommand(OrderFixtures.productIds(itemCount), itemCount);
+    }
+
+    @Benchmark
+    public Order createOrderCommandToOrder() {
+        return orderDataMapper.createOrderCommandToOrder(createOrderCommand);
+    }
+}
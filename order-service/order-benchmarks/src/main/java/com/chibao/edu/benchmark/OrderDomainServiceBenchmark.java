@@ -0,0 +1,90 @@
+package com.chibao.edu.benchmark;
+
+import com.chibao.edu.domain.OrderDomainService;
+import com.chibao.edu.domain.OrderDomainServiceImpl;
+import com.chibao.edu.domain.dto.create.CreateOrderCommand;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.entity.OrderItem;
+import com.chibao.edu.domain.entity.Product;
+import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.id_generator.UuidV7Generator;
+import com.chibao.edu.domain.mapper.OrderDataMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// ? validateAndInitializeOrder needs an uninitialized order on every call, so each invocation maps a fresh
+// * order from the command; mapOnly measures that part alone so it can be subtracted.
+// * nestedLoopProductMatch is the pre-index baseline of the product confirmation step (every item scanned against
+// * the whole catalog), indexedProductMatch the current one. Both run on one order mapped in setUp.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderDomainServiceBenchmark {
+    @Param({"1", "10", "50"})
+    int itemCount;
+    @Param({"10", "200", "2000"})
+    int catalogSize;
+
+    private final OrderDomainService orderDomainService = new OrderDomainServiceImpl();
+    private final OrderDataMapper orderDataMapper = new OrderDataMapper(new UuidV7Generator());
+    private Restaurant restaurant;
+    private CreateOrderCommand createOrderCommand;
+    private Order mappedOrder;
+
+    @Setup
+    public void setUp() {
+        List<UUID> productIds = OrderFixtures.productIds(catalogSize);
+        restaurant = OrderFixtures.restaurant(productIds);
+        createOrderCommand = OrderFixtures.createOrderCommand(productIds, itemCount);
+        mappedOrder = orderDataMapper.createOrderCommandToOrder(createOrderCommand);
+    }
+
+    @Benchmark
+    public OrderCreatedEvent validateAndInitializeOrder() {
+        Order order = orderDataMapper.createOrderCommandToOrder(createOrderCommand);
+        return orderDomainService.validateAndInitializeOrder(order, restaurant);
+    }
+
+    @Benchmark
+    public Order mapOnly() {
+        return orderDataMapper.createOrderCommandToOrder(createOrderCommand);
+    }
+
+    @Benchmark
+    public int indexedProductMatch() {
+        int matched = 0;
+        for (OrderItem orderItem : mappedOrder.getItems()) {
+            Product currentProduct = orderItem.getProduct();
+            Product restaurantProduct = restaurant.findProduct(currentProduct.getId());
+            if (restaurantProduct != null) {
+                currentProduct.updateWithConfirmedNameAndPrice(restaurantProduct.getName(), restaurantProduct.getPrice());
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    // * same loop as OrderDomainServiceImpl.setOrderProductInformation before the product index
+    @Benchmark
+    public int nestedLoopProductMatch() {
+        int matched = 0;
+        for (OrderItem orderItem : mappedOrder.getItems()) {
+            Product currentProduct = orderItem.getProduct();
+            for (Product restaurantProduct : restaurant.getProducts()) {
+                if (currentProduct.equals(restaurantProduct)) {
+                    currentProduct.updateWithConfirmedNameAndPrice(restaurantProduct.getName(),
+                            restaurantProduct.getPrice());
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+}
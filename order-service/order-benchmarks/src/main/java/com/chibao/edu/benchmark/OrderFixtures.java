@@ -0,0 +1,73 @@
+package com.chibao.edu.benchmark;
+
+import com.chibao.edu.domain.dto.create.CreateOrderCommand;
+import com.chibao.edu.domain.dto.create.OrderAddress;
+import com.chibao.edu.domain.dto.create.OrderItem;
+import com.chibao.edu.domain.entity.Product;
+import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.value_object.Money;
+import com.chibao.edu.domain.value_object.ProductId;
+import com.chibao.edu.domain.value_object.RestaurantId;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// ? Deterministic test data shared by the benchmarks: a restaurant with catalogSize products priced 10.00
+// * and commands ordering itemCount of them, quantity 2 each.
+final class OrderFixtures {
+    static final BigDecimal PRODUCT_PRICE = new BigDecimal("10.00");
+    static final int QUANTITY = 2;
+    static final UUID CUSTOMER_ID = UUID.fromString("d215b5f8-0249-4dc5-89a3-51fd148cfb41");
+    static final UUID RESTAURANT_ID = UUID.fromString("d215b5f8-0249-4dc5-89a3-51fd148cfb45");
+
+    private OrderFixtures() {
+    }
+
+    static List<UUID> productIds(int catalogSize) {
+        List<UUID> productIds = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            productIds.add(new UUID(RESTAURANT_ID.getMostSignificantBits(), i));
+        }
+        return productIds;
+    }
+
+    static Restaurant restaurant(List<UUID> productIds) {
+        List<Product> products = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            products.add(new Product(new ProductId(productIds.get(i)), "product-" + i, new Money(PRODUCT_PRICE)));
+        }
+        return Restaurant.builder()
+                .id(new RestaurantId(RESTAURANT_ID))
+                .products(products)
+                .active(true)
+                .build();
+    }
+
+    // ? items are spread over the whole catalog so lookups do not only hit its head
+    static CreateOrderCommand createOrderCommand(List<UUID> productIds, int itemCount) {
+        BigDecimal subTotal = PRODUCT_PRICE.multiply(BigDecimal.valueOf(QUANTITY));
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        int stride = Math.max(1, productIds.size() / itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItem.builder()
+                    .productId(productIds.get((i * stride) % productIds.size()))
+                    .quantity(QUANTITY)
+                    .price(PRODUCT_PRICE)
+                    .subTotal(subTotal)
+                    .build());
+        }
+        return CreateOrderCommand.builder()
+                .customerId(CUSTOMER_ID)
+                .restaurantId(RESTAURANT_ID)
+                .price(subTotal.multiply(BigDecimal.valueOf(itemCount)))
+                .items(items)
+                .address(OrderAddress.builder()
+                        .street("street_1")
+                        .postalCode("1000AB")
+                        .city("Paris")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.chibao.edu.benchmark;
+
+import com.chibao.edu.PaymentRequestAvroModel;
+import com.chibao.edu.domain.OrderDomainServiceImpl;
+import com.chibao.edu.domain.dto.create.CreateOrderCommand;
+import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.id_generator.UuidV7Generator;
+import com.chibao.edu.domain.mapper.OrderDataMapper;
+import com.chibao.edu.order.messaging.mapper.OrderMessagingDataMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMessagingDataMapperBenchmark {
+    private final OrderMessagingDataMapper orderMessagingDataMapper = new OrderMessagingDataMapper(new UuidV7Generator());
+    private OrderCreatedEvent orderCreatedEvent;
+
+    @Setup
+    public void setUp() {
+        List<UUID> productIds = OrderFixtures.productIds(10);
+        CreateOrderCommand createOrderCommand = OrderFixtures.createOrderCommand(productIds, 10);
+        orderCreatedEvent = new OrderDomainServiceImpl().validateAndInitializeOrder(
+                new OrderDataMapper(new UuidV7Generator()).createOrderCommandToOrder(createOrderCommand),
+                OrderFixtures.restaurant(productIds));
+    }
+
+    @Benchmark
+    public PaymentRequestAvroModel orderCreatedEventToPaymentRequestAvroModel() {
+        return orderMessagingDataMapper.orderCreatedEventToPaymentRequestAvroModel(orderCreatedEvent);
+    }
+}
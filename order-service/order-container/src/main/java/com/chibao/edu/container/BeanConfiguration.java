@@ -0,0 +1,33 @@
+package com.chibao.edu.container;
+
+import com.chibao.edu.domain.OrderDomainService;
+import com.chibao.edu.domain.OrderDomainServiceImpl;
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.id_generator.UuidV7Generator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// ? The domain core has no Spring dependency, so its services are registered as beans here.
+// * Scheduling drives the outbox relays.
+@Configuration
+@EnableScheduling
+public class BeanConfiguration {
+
+    @Bean
+    public IdGenerator idGenerator() {
+        return new UuidV7Generator();
+    }
+
+    // * close stops the ticker thread when the clock is swapped for DomainClock.coarse(...)
+    @Bean(destroyMethod = "close")
+    public DomainClock domainClock() {
+        return DomainClock.systemUtc();
+    }
+
+    @Bean
+    public OrderDomainService orderDomainService(IdGenerator idGenerator, DomainClock domainClock) {
+        return new OrderDomainServiceImpl(idGenerator, domainClock);
+    }
+}
@@ -0,0 +1,112 @@
+-- runs on every start: only creates what is missing and never drops data. Statements are plain and
+-- semicolon separated (no DO blocks), so any script runner can execute them.
+CREATE SCHEMA IF NOT EXISTS "order";
+
+-- payment requests written in the same transaction as the order and relayed to kafka by PaymentOutboxScheduler
+CREATE TABLE IF NOT EXISTS "order".payment_outbox
+(
+    id uuid NOT NULL,
+    saga_id uuid NOT NULL,
+    order_id uuid NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE,
+    type character varying COLLATE pg_catalog."default" NOT NULL,
+    payload jsonb NOT NULL,
+    order_status character varying COLLATE pg_catalog."default" NOT NULL,
+    outbox_status character varying COLLATE pg_catalog."default" NOT NULL,
+    lease_until TIMESTAMP WITH TIME ZONE,
+    version integer NOT NULL,
+    CONSTRAINT payment_outbox_pkey PRIMARY KEY (id),
+    CONSTRAINT payment_outbox_status_check CHECK (outbox_status IN ('STARTED', 'COMPLETED', 'FAILED', 'PARKED'))
+);
+
+-- tables created before relay leases
+ALTER TABLE "order".payment_outbox ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP WITH TIME ZONE;
+
+-- tables created before PARKED: the status check is replaced by the current one
+ALTER TABLE "order".payment_outbox DROP CONSTRAINT IF EXISTS payment_outbox_status_check;
+ALTER TABLE "order".payment_outbox ADD CONSTRAINT payment_outbox_status_check
+    CHECK (outbox_status IN ('STARTED', 'COMPLETED', 'FAILED', 'PARKED'));
+
+CREATE INDEX IF NOT EXISTS "payment_outbox_type_outbox_status_created_at"
+    ON "order".payment_outbox
+    (type, outbox_status, created_at);
+
+-- relay claim of one shard (JdbcPaymentOutboxRepository.claimRelayBatch): only the oldest unfinished row of an
+-- order is eligible, so rows of the same order are relayed strictly in created_at order. The shard expression is
+-- OutboxShard.shardOf: the low 32 bits of order_id, unsigned, modulo the shard count
+-- UPDATE "order".payment_outbox SET lease_until = :leaseUntil
+--  WHERE id IN (SELECT p.id FROM "order".payment_outbox p
+--                WHERE p.type = :type AND p.outbox_status IN ('STARTED', 'FAILED')
+--                  AND (p.lease_until IS NULL OR p.lease_until <= :now)
+--                  AND mod(('x' || lpad(right(replace(p.order_id::text, '-', ''), 8), 16, '0'))::bit(64)::bigint,
+--                          :shardCount) = :shard
+--                  AND NOT EXISTS (SELECT 1 FROM "order".payment_outbox e
+--                                   WHERE e.order_id = p.order_id AND e.type = p.type
+--                                     AND e.outbox_status IN ('STARTED', 'FAILED') AND e.created_at < p.created_at)
+--                ORDER BY p.created_at
+--                LIMIT :batchSize
+--                FOR UPDATE SKIP LOCKED)
+-- RETURNING *;
+
+CREATE INDEX IF NOT EXISTS "payment_outbox_order_id_created_at"
+    ON "order".payment_outbox
+    (order_id, created_at)
+    WHERE outbox_status IN ('STARTED', 'FAILED');
+
+-- restaurant approval requests written in the payment saga's transaction and relayed by ApprovalOutboxScheduler;
+-- claimed with the same statement as payment_outbox
+CREATE TABLE IF NOT EXISTS "order".restaurant_approval_outbox
+(
+    id uuid NOT NULL,
+    saga_id uuid NOT NULL,
+    order_id uuid NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE,
+    type character varying COLLATE pg_catalog."default" NOT NULL,
+    payload jsonb NOT NULL,
+    order_status character varying COLLATE pg_catalog."default" NOT NULL,
+    outbox_status character varying COLLATE pg_catalog."default" NOT NULL,
+    lease_until TIMESTAMP WITH TIME ZONE,
+    version integer NOT NULL,
+    CONSTRAINT restaurant_approval_outbox_pkey PRIMARY KEY (id),
+    CONSTRAINT restaurant_approval_outbox_status_check CHECK (outbox_status IN ('STARTED', 'COMPLETED', 'FAILED', 'PARKED'))
+);
+
+ALTER TABLE "order".restaurant_approval_outbox DROP CONSTRAINT IF EXISTS restaurant_approval_outbox_status_check;
+ALTER TABLE "order".restaurant_approval_outbox ADD CONSTRAINT restaurant_approval_outbox_status_check
+    CHECK (outbox_status IN ('STARTED', 'COMPLETED', 'FAILED', 'PARKED'));
+
+CREATE INDEX IF NOT EXISTS "restaurant_approval_outbox_type_outbox_status_created_at"
+    ON "order".restaurant_approval_outbox
+    (type, outbox_status, created_at);
+
+CREATE INDEX IF NOT EXISTS "restaurant_approval_outbox_order_id_created_at"
+    ON "order".restaurant_approval_outbox
+    (order_id, created_at)
+    WHERE outbox_status IN ('STARTED', 'FAILED');
+
+-- saga responses that were applied; the primary key rejects a message applied twice by racing consumers
+CREATE TABLE IF NOT EXISTS "order".processed_message
+(
+    saga_id uuid NOT NULL,
+    message_id uuid NOT NULL,
+    type character varying COLLATE pg_catalog."default" NOT NULL,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT processed_message_pkey PRIMARY KEY (saga_id, message_id)
+);
+
+-- create order responses by client idempotency key, replayed to retries until expires_at
+CREATE TABLE IF NOT EXISTS "order".idempotency_key
+(
+    idempotency_key uuid NOT NULL,
+    order_tracking_id uuid NOT NULL,
+    order_status character varying COLLATE pg_catalog."default" NOT NULL,
+    message character varying COLLATE pg_catalog."default",
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT idempotency_key_pkey PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS "idempotency_key_expires_at"
+    ON "order".idempotency_key
+    (expires_at);
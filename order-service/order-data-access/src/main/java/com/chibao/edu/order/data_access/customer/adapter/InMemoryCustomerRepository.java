@@ -0,0 +1,49 @@
+package com.chibao.edu.order.data_access.customer.adapter;
+
+import com.chibao.edu.domain.entity.Customer;
+import com.chibao.edu.domain.ports.output.repository.CustomerRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// ? Reference adapter for CustomerRepository, backed by a concurrent map.
+// * Used for tests, batch creation and saga replay where no database is wired.
+public class InMemoryCustomerRepository implements CustomerRepository {
+    private final Map<UUID, Customer> customers = new ConcurrentHashMap<>();
+
+    public void save(Customer customer) {
+        customers.put(customer.getId().getValue(), customer);
+    }
+
+    @Override
+    public Optional<Customer> findCustomer(UUID customerId) {
+        return Optional.ofNullable(customers.get(customerId));
+    }
+
+    @Override
+    public Map<UUID, Customer> findCustomers(Collection<UUID> customerIds) {
+        Map<UUID, Customer> result = new HashMap<>();
+        for (UUID customerId : customerIds) {
+            Customer customer = customers.get(customerId);
+            if (customer != null) {
+                result.put(customerId, customer);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long forEachCustomerId(Consumer<UUID> customerIdConsumer) {
+        long count = 0;
+        for (UUID customerId : customers.keySet()) {
+            customerIdConsumer.accept(customerId);
+            count++;
+        }
+        return count;
+    }
+}
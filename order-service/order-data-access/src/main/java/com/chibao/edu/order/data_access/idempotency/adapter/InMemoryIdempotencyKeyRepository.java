@@ -0,0 +1,54 @@
+package com.chibao.edu.order.data_access.idempotency.adapter;
+
+import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+import com.chibao.edu.domain.ports.output.repository.IdempotencyKeyRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ? Single-instance idempotency key store. It does not take part in transactions, so a key stays taken even when
+// * the order it was saved for is rolled back afterwards.
+public class InMemoryIdempotencyKeyRepository implements IdempotencyKeyRepository {
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<CreateOrderResponse> findResponse(UUID idempotencyKey, Instant now) {
+        Entry entry = entries.get(idempotencyKey);
+        return entry != null && entry.isAlive(now) ? Optional.of(entry.createOrderResponse()) : Optional.empty();
+    }
+
+    @Override
+    public Map<UUID, CreateOrderResponse> findResponses(Collection<UUID> idempotencyKeys, Instant now) {
+        Map<UUID, CreateOrderResponse> responses = new HashMap<>();
+        idempotencyKeys.forEach(idempotencyKey ->
+                findResponse(idempotencyKey, now).ifPresent(response -> responses.put(idempotencyKey, response)));
+        return responses;
+    }
+
+    @Override
+    public boolean save(UUID idempotencyKey, CreateOrderResponse createOrderResponse, Instant createdAt,
+                        Instant expiresAt) {
+        Entry entry = new Entry(createOrderResponse, expiresAt);
+        // ? atomically take the key unless a live entry holds it
+        return entries.compute(idempotencyKey, (key, current) ->
+                current != null && current.isAlive(createdAt) ? current : entry) == entry;
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> !entry.isAlive(now));
+        return Math.max(0, before - entries.size());
+    }
+
+    private record Entry(CreateOrderResponse createOrderResponse, Instant expiresAt) {
+        boolean isAlive(Instant now) {
+            return expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.chibao.edu.order.data_access.idempotency.adapter;
+
+import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+import com.chibao.edu.domain.ports.output.repository.IdempotencyKeyRepository;
+import com.chibao.edu.domain.value_object.OrderStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// ? Persistent idempotency key store on the idempotency_key table. Runs on the caller's connection, so a saved key
+// * commits or rolls back with the order. The upsert only replaces an expired row; while a concurrent transaction
+// * holds an uncommitted insert of the same key, Postgres blocks the second insert until the first one finishes.
+public class JdbcIdempotencyKeyRepository implements IdempotencyKeyRepository {
+    private static final String SELECT = """
+            SELECT idempotency_key, order_tracking_id, order_status, message
+              FROM "order".idempotency_key
+            """;
+    private static final String UPSERT = """
+            INSERT INTO "order".idempotency_key AS ik (idempotency_key, order_tracking_id, order_status, message, expires_at)
+            VALUES (:idempotencyKey, :orderTrackingId, :orderStatus, :message, :expiresAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+               SET order_tracking_id = EXCLUDED.order_tracking_id,
+                   order_status = EXCLUDED.order_status,
+                   message = EXCLUDED.message,
+                   expires_at = EXCLUDED.expires_at
+             WHERE ik.expires_at <= :createdAt
+            """;
+    private static final RowMapper<CreateOrderResponse> RESPONSE_ROW_MAPPER = (rs, rowNum) ->
+            CreateOrderResponse.builder()
+                    .orderTrackingId(rs.getObject("order_tracking_id", UUID.class))
+                    .orderStatus(OrderStatus.valueOf(rs.getString("order_status")))
+                    .message(rs.getString("message"))
+                    .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyKeyRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<CreateOrderResponse> findResponse(UUID idempotencyKey, Instant now) {
+        List<CreateOrderResponse> responses = jdbcTemplate.query(
+                SELECT + " WHERE idempotency_key = :idempotencyKey AND expires_at > :now",
+                new MapSqlParameterSource()
+                        .addValue("idempotencyKey", idempotencyKey)
+                        .addValue("now", Timestamp.from(now)),
+                RESPONSE_ROW_MAPPER);
+        return responses.stream().findFirst();
+    }
+
+    @Override
+    public Map<UUID, CreateOrderResponse> findResponses(Collection<UUID> idempotencyKeys, Instant now) {
+        Map<UUID, CreateOrderResponse> responses = new HashMap<>();
+        jdbcTemplate.query(SELECT + " WHERE idempotency_key IN (:idempotencyKeys) AND expires_at > :now",
+                new MapSqlParameterSource()
+                        .addValue("idempotencyKeys", idempotencyKeys)
+                        .addValue("now", Timestamp.from(now)),
+                rs -> {
+                    responses.put(rs.getObject("idempotency_key", UUID.class), RESPONSE_ROW_MAPPER.mapRow(rs, 0));
+                });
+        return responses;
+    }
+
+    @Override
+    public boolean save(UUID idempotencyKey, CreateOrderResponse createOrderResponse, Instant createdAt,
+                        Instant expiresAt) {
+        return jdbcTemplate.update(UPSERT, new MapSqlParameterSource()
+                .addValue("idempotencyKey", idempotencyKey)
+                .addValue("orderTrackingId", createOrderResponse.getOrderTrackingId())
+                .addValue("orderStatus", createOrderResponse.getOrderStatus().name())
+                .addValue("message", createOrderResponse.getMessage())
+                .addValue("expiresAt", Timestamp.from(expiresAt))
+                .addValue("createdAt", Timestamp.from(createdAt))) > 0;
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM \"order\".idempotency_key WHERE expires_at <= :now",
+                new MapSqlParameterSource().addValue("now", Timestamp.from(now)));
+    }
+}
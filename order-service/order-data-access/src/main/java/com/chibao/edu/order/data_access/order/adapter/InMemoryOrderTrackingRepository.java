@@ -0,0 +1,31 @@
+package com.chibao.edu.order.data_access.order.adapter;
+
+import com.chibao.edu.domain.ports.output.repository.OrderTrackingRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjection;
+import com.chibao.edu.domain.value_object.TrackingId;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ? Reference adapter for the tracking read model, backed by a concurrent map keyed by tracking id.
+public class InMemoryOrderTrackingRepository implements OrderTrackingRepository {
+    private final Map<UUID, OrderTrackingProjection> projections = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<OrderTrackingProjection> findByTrackingId(TrackingId trackingId) {
+        return Optional.ofNullable(projections.get(trackingId.getValue()));
+    }
+
+    @Override
+    public void save(OrderTrackingProjection orderTrackingProjection) {
+        projections.put(orderTrackingProjection.getTrackingId(), orderTrackingProjection);
+    }
+
+    @Override
+    public void saveAll(List<OrderTrackingProjection> orderTrackingProjections) {
+        orderTrackingProjections.forEach(this::save);
+    }
+}
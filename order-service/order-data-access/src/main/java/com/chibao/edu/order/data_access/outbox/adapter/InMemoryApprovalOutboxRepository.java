@@ -0,0 +1,91 @@
+package com.chibao.edu.order.data_access.outbox.adapter;
+
+import com.chibao.edu.domain.outbox.model.OutboxShard;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.chibao.edu.domain.ports.output.repository.ApprovalOutboxRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ? Reference adapter for the restaurant approval outbox; same semantics as InMemoryPaymentOutboxRepository.
+public class InMemoryApprovalOutboxRepository implements ApprovalOutboxRepository {
+    private static final Set<OutboxStatus> UNFINISHED = Set.of(OutboxStatus.STARTED, OutboxStatus.FAILED);
+
+    private final Map<UUID, OrderApprovalOutboxMessage> messages = new ConcurrentHashMap<>();
+
+    @Override
+    public List<OrderApprovalOutboxMessage> saveAll(List<OrderApprovalOutboxMessage> orderApprovalOutboxMessages) {
+        orderApprovalOutboxMessages.forEach(message -> messages.put(message.getId(), message));
+        return orderApprovalOutboxMessages;
+    }
+
+    @Override
+    public synchronized List<OrderApprovalOutboxMessage> claimRelayBatch(String type, int shard, int shardCount,
+                                                                         int batchSize, Instant now,
+                                                                         Instant leaseUntil) {
+        Set<UUID> seenOrderIds = new HashSet<>();
+        List<OrderApprovalOutboxMessage> batch = messages.values().stream()
+                .filter(message -> type.equals(message.getType()) && UNFINISHED.contains(message.getOutboxStatus()))
+                .filter(message -> OutboxShard.shardOf(message.getOrderId(), shardCount) == shard)
+                .sorted(Comparator.comparing(OrderApprovalOutboxMessage::getCreatedAt))
+                // ? oldest unfinished row per order only, whether or not it is leased
+                .filter(message -> seenOrderIds.add(message.getOrderId()))
+                .filter(message -> message.getLeaseUntil() == null || !message.getLeaseUntil().isAfter(now))
+                .limit(batchSize)
+                .toList();
+        batch.forEach(message -> message.setLeaseUntil(leaseUntil));
+        return batch;
+    }
+
+    @Override
+    public void updateOutboxStatus(Collection<UUID> ids, OutboxStatus outboxStatus, Instant processedAt) {
+        ids.forEach(id -> messages.computeIfPresent(id, (key, message) -> {
+            message.setOutboxStatus(outboxStatus);
+            message.setProcessedAt(processedAt);
+            message.setLeaseUntil(null);
+            message.setVersion(message.getVersion() + 1);
+            return message;
+        }));
+    }
+
+    @Override
+    public long countByTypeAndOutboxStatus(String type, OutboxStatus... outboxStatus) {
+        Set<OutboxStatus> statuses = Set.of(outboxStatus);
+        return messages.values().stream()
+                .filter(message -> type.equals(message.getType()) && statuses.contains(message.getOutboxStatus()))
+                .count();
+    }
+
+    @Override
+    public Optional<Instant> findOldestCreatedAt(String type, OutboxStatus... outboxStatus) {
+        Set<OutboxStatus> statuses = Set.of(outboxStatus);
+        return messages.values().stream()
+                .filter(message -> type.equals(message.getType()) && statuses.contains(message.getOutboxStatus()))
+                .map(OrderApprovalOutboxMessage::getCreatedAt)
+                .min(Comparator.naturalOrder());
+    }
+
+    @Override
+    public int deleteByTypeAndOutboxStatusAndProcessedAtBefore(String type, OutboxStatus outboxStatus,
+                                                               Instant processedAt) {
+        Set<UUID> deleted = new HashSet<>();
+        messages.values().removeIf(message -> {
+            boolean expired = type.equals(message.getType()) && message.getOutboxStatus() == outboxStatus
+                    && message.getProcessedAt() != null && message.getProcessedAt().isBefore(processedAt);
+            if (expired) {
+                deleted.add(message.getId());
+            }
+            return expired;
+        });
+        return deleted.size();
+    }
+}
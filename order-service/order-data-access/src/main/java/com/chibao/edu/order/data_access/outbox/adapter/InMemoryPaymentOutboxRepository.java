@@ -0,0 +1,98 @@
+package com.chibao.edu.order.data_access.outbox.adapter;
+
+import com.chibao.edu.domain.outbox.model.OutboxShard;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+import com.chibao.edu.domain.ports.output.repository.PaymentOutboxRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ? Reference adapter for the payment outbox, backed by a concurrent map keyed by outbox id.
+// * Rows are returned oldest first, like the created_at index of the payment_outbox table. Claims are serialized by
+// * the adapter's monitor and honour leases, like the SKIP LOCKED claim of JdbcPaymentOutboxRepository.
+public class InMemoryPaymentOutboxRepository implements PaymentOutboxRepository {
+    private static final Set<OutboxStatus> UNFINISHED = Set.of(OutboxStatus.STARTED, OutboxStatus.FAILED);
+
+    private final Map<UUID, PaymentOutboxMessage> messages = new ConcurrentHashMap<>();
+
+    @Override
+    public PaymentOutboxMessage save(PaymentOutboxMessage paymentOutboxMessage) {
+        messages.put(paymentOutboxMessage.getId(), paymentOutboxMessage);
+        return paymentOutboxMessage;
+    }
+
+    @Override
+    public List<PaymentOutboxMessage> saveAll(List<PaymentOutboxMessage> paymentOutboxMessages) {
+        paymentOutboxMessages.forEach(this::save);
+        return paymentOutboxMessages;
+    }
+
+    @Override
+    public synchronized List<PaymentOutboxMessage> claimRelayBatch(String type, int shard, int shardCount,
+                                                                   int batchSize, Instant now, Instant leaseUntil) {
+        Set<UUID> seenOrderIds = new HashSet<>();
+        List<PaymentOutboxMessage> batch = messages.values().stream()
+                .filter(message -> type.equals(message.getType()) && UNFINISHED.contains(message.getOutboxStatus()))
+                .filter(message -> OutboxShard.shardOf(message.getOrderId(), shardCount) == shard)
+                .sorted(Comparator.comparing(PaymentOutboxMessage::getCreatedAt))
+                // ? oldest unfinished row per order only, whether or not it is leased
+                .filter(message -> seenOrderIds.add(message.getOrderId()))
+                .filter(message -> message.getLeaseUntil() == null || !message.getLeaseUntil().isAfter(now))
+                .limit(batchSize)
+                .toList();
+        batch.forEach(message -> message.setLeaseUntil(leaseUntil));
+        return batch;
+    }
+
+    @Override
+    public void updateOutboxStatus(Collection<UUID> ids, OutboxStatus outboxStatus, Instant processedAt) {
+        ids.forEach(id -> messages.computeIfPresent(id, (key, message) -> {
+            message.setOutboxStatus(outboxStatus);
+            message.setProcessedAt(processedAt);
+            message.setLeaseUntil(null);
+            message.setVersion(message.getVersion() + 1);
+            return message;
+        }));
+    }
+
+    @Override
+    public long countByTypeAndOutboxStatus(String type, OutboxStatus... outboxStatus) {
+        Set<OutboxStatus> statuses = Set.of(outboxStatus);
+        return messages.values().stream()
+                .filter(message -> type.equals(message.getType()) && statuses.contains(message.getOutboxStatus()))
+                .count();
+    }
+
+    @Override
+    public Optional<Instant> findOldestCreatedAt(String type, OutboxStatus... outboxStatus) {
+        Set<OutboxStatus> statuses = Set.of(outboxStatus);
+        return messages.values().stream()
+                .filter(message -> type.equals(message.getType()) && statuses.contains(message.getOutboxStatus()))
+                .map(PaymentOutboxMessage::getCreatedAt)
+                .min(Comparator.naturalOrder());
+    }
+
+    @Override
+    public int deleteByTypeAndOutboxStatusAndProcessedAtBefore(String type, OutboxStatus outboxStatus,
+                                                               Instant processedAt) {
+        Set<UUID> deleted = new HashSet<>();
+        messages.values().removeIf(message -> {
+            boolean expired = type.equals(message.getType()) && message.getOutboxStatus() == outboxStatus
+                    && message.getProcessedAt() != null && message.getProcessedAt().isBefore(processedAt);
+            if (expired) {
+                deleted.add(message.getId());
+            }
+            return expired;
+        });
+        return deleted.size();
+    }
+}
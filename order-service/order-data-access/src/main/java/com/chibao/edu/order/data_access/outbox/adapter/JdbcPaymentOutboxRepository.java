@@ -0,0 +1,174 @@
+package com.chibao.edu.order.data_access.outbox.adapter;
+
+import com.chibao.edu.domain.outbox.model.OutboxShard;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+import com.chibao.edu.domain.ports.output.repository.PaymentOutboxRepository;
+import com.chibao.edu.domain.value_object.OrderStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// ? Persistent payment outbox on the payment_outbox table. save and saveAll run on the caller's connection, so a row
+// * commits or rolls back with its order. claimRelayBatch is a single UPDATE over a SELECT ... FOR UPDATE SKIP LOCKED,
+// * so concurrent relays never claim the same row and the row locks end with that statement.
+public class JdbcPaymentOutboxRepository implements PaymentOutboxRepository {
+    private static final String INSERT = """
+            INSERT INTO "order".payment_outbox (id, saga_id, order_id, created_at, processed_at, type, payload,
+                                                order_status, outbox_status, lease_until, version)
+            VALUES (:id, :sagaId, :orderId, :createdAt, :processedAt, :type, CAST(:payload AS jsonb),
+                    :orderStatus, :outboxStatus, :leaseUntil, :version)
+            """;
+    private static final String CLAIM = """
+            UPDATE "order".payment_outbox SET lease_until = :leaseUntil
+             WHERE id IN (SELECT p.id FROM "order".payment_outbox p
+                           WHERE p.type = :type AND p.outbox_status IN ('STARTED', 'FAILED')
+                             AND (p.lease_until IS NULL OR p.lease_until <= :now)
+                             AND mod(%s, :shardCount) = :shard
+                             AND NOT EXISTS (SELECT 1 FROM "order".payment_outbox e
+                                              WHERE e.order_id = p.order_id AND e.type = p.type
+                                                AND e.outbox_status IN ('STARTED', 'FAILED')
+                                                AND e.created_at < p.created_at)
+                           ORDER BY p.created_at
+                           LIMIT :batchSize
+                           FOR UPDATE SKIP LOCKED)
+            RETURNING id, saga_id, order_id, created_at, processed_at, type, payload, order_status, outbox_status,
+                      lease_until, version
+            """.formatted(OutboxShard.SQL_SHARD_KEY);
+    private static final String UPDATE_STATUS = """
+            UPDATE "order".payment_outbox
+               SET outbox_status = :outboxStatus, processed_at = :processedAt, lease_until = NULL, version = version + 1
+             WHERE id IN (:ids)
+            """;
+    private static final RowMapper<PaymentOutboxMessage> ROW_MAPPER = (rs, rowNum) ->
+            PaymentOutboxMessage.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .sagaId(rs.getObject("saga_id", UUID.class))
+                    .orderId(rs.getObject("order_id", UUID.class))
+                    .createdAt(toInstant(rs.getTimestamp("created_at")))
+                    .processedAt(toInstant(rs.getTimestamp("processed_at")))
+                    .type(rs.getString("type"))
+                    .payload(rs.getString("payload"))
+                    .orderStatus(OrderStatus.valueOf(rs.getString("order_status")))
+                    .outboxStatus(OutboxStatus.valueOf(rs.getString("outbox_status")))
+                    .leaseUntil(toInstant(rs.getTimestamp("lease_until")))
+                    .version(rs.getInt("version"))
+                    .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JdbcPaymentOutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public PaymentOutboxMessage save(PaymentOutboxMessage paymentOutboxMessage) {
+        jdbcTemplate.update(INSERT, parameters(paymentOutboxMessage));
+        return paymentOutboxMessage;
+    }
+
+    @Override
+    public List<PaymentOutboxMessage> saveAll(List<PaymentOutboxMessage> paymentOutboxMessages) {
+        if (paymentOutboxMessages.isEmpty()) {
+            return paymentOutboxMessages;
+        }
+        jdbcTemplate.batchUpdate(INSERT, paymentOutboxMessages.stream()
+                .map(JdbcPaymentOutboxRepository::parameters)
+                .toArray(MapSqlParameterSource[]::new));
+        return paymentOutboxMessages;
+    }
+
+    @Override
+    public List<PaymentOutboxMessage> claimRelayBatch(String type, int shard, int shardCount, int batchSize,
+                                                      Instant now, Instant leaseUntil) {
+        List<PaymentOutboxMessage> batch = jdbcTemplate.query(CLAIM, new MapSqlParameterSource()
+                        .addValue("type", type)
+                        .addValue("shard", shard)
+                        .addValue("shardCount", shardCount)
+                        .addValue("batchSize", batchSize)
+                        .addValue("now", Timestamp.from(now))
+                        .addValue("leaseUntil", Timestamp.from(leaseUntil)),
+                ROW_MAPPER);
+        // ? RETURNING does not keep the ORDER BY of the subquery
+        return batch.stream().sorted(Comparator.comparing(PaymentOutboxMessage::getCreatedAt)).toList();
+    }
+
+    @Override
+    public void updateOutboxStatus(Collection<UUID> ids, OutboxStatus outboxStatus, Instant processedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(UPDATE_STATUS, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("outboxStatus", outboxStatus.name())
+                .addValue("processedAt", Timestamp.from(processedAt)));
+    }
+
+    @Override
+    public long countByTypeAndOutboxStatus(String type, OutboxStatus... outboxStatus) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM \"order\".payment_outbox WHERE type = :type AND outbox_status IN (:statuses)",
+                statusParameters(type, outboxStatus), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public Optional<Instant> findOldestCreatedAt(String type, OutboxStatus... outboxStatus) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT min(created_at) FROM \"order\".payment_outbox WHERE type = :type AND outbox_status IN (:statuses)",
+                statusParameters(type, outboxStatus), Timestamp.class);
+        return Optional.ofNullable(toInstant(oldest));
+    }
+
+    @Override
+    public int deleteByTypeAndOutboxStatusAndProcessedAtBefore(String type, OutboxStatus outboxStatus,
+                                                               Instant processedAt) {
+        return jdbcTemplate.update("""
+                        DELETE FROM "order".payment_outbox
+                         WHERE type = :type AND outbox_status = :outboxStatus AND processed_at < :processedAt
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("type", type)
+                        .addValue("outboxStatus", outboxStatus.name())
+                        .addValue("processedAt", Timestamp.from(processedAt)));
+    }
+
+    // TODO Helpers
+    private static MapSqlParameterSource parameters(PaymentOutboxMessage paymentOutboxMessage) {
+        return new MapSqlParameterSource()
+                .addValue("id", paymentOutboxMessage.getId())
+                .addValue("sagaId", paymentOutboxMessage.getSagaId())
+                .addValue("orderId", paymentOutboxMessage.getOrderId())
+                .addValue("createdAt", toTimestamp(paymentOutboxMessage.getCreatedAt()))
+                .addValue("processedAt", toTimestamp(paymentOutboxMessage.getProcessedAt()))
+                .addValue("type", paymentOutboxMessage.getType())
+                .addValue("payload", paymentOutboxMessage.getPayload())
+                .addValue("orderStatus", paymentOutboxMessage.getOrderStatus().name())
+                .addValue("outboxStatus", paymentOutboxMessage.getOutboxStatus().name())
+                .addValue("leaseUntil", toTimestamp(paymentOutboxMessage.getLeaseUntil()))
+                .addValue("version", paymentOutboxMessage.getVersion());
+    }
+
+    private static MapSqlParameterSource statusParameters(String type, OutboxStatus... outboxStatus) {
+        return new MapSqlParameterSource()
+                .addValue("type", type)
+                .addValue("statuses", Arrays.stream(outboxStatus).map(OutboxStatus::name).toList());
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,59 @@
+package com.chibao.edu.order.data_access.restaurant.adapter;
+
+import com.chibao.edu.domain.entity.Product;
+import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
+import com.chibao.edu.domain.value_object.RestaurantId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ? Reference adapter for RestaurantRepository, backed by a concurrent map of full restaurant catalogs.
+// * Like the restaurant/product join it stands in for, a lookup returns only the requested products
+// * that the restaurant actually offers.
+public class InMemoryRestaurantRepository implements RestaurantRepository {
+    private final Map<RestaurantId, Restaurant> restaurants = new ConcurrentHashMap<>();
+
+    public void save(Restaurant restaurant) {
+        restaurants.put(restaurant.getId(), restaurant);
+    }
+
+    @Override
+    public Optional<Restaurant> findRestaurantInformation(Restaurant restaurant) {
+        Restaurant stored = restaurants.get(restaurant.getId());
+        return stored == null ? Optional.empty() : Optional.of(withRequestedProducts(stored, restaurant));
+    }
+
+    @Override
+    public Map<RestaurantId, Restaurant> findRestaurantsInformation(Collection<Restaurant> restaurantRequests) {
+        Map<RestaurantId, Restaurant> result = new HashMap<>();
+        for (Restaurant restaurant : restaurantRequests) {
+            Restaurant stored = restaurants.get(restaurant.getId());
+            if (stored != null) {
+                result.put(restaurant.getId(), withRequestedProducts(stored, restaurant));
+            }
+        }
+        return result;
+    }
+
+    // TODO Helpers
+    private Restaurant withRequestedProducts(Restaurant stored, Restaurant request) {
+        List<Product> products = new ArrayList<>(request.getProducts().size());
+        for (Product requested : request.getProducts()) {
+            Product product = stored.findProduct(requested.getId());
+            if (product != null) {
+                products.add(new Product(product.getId(), product.getName(), product.getPrice()));
+            }
+        }
+        return Restaurant.builder()
+                .id(stored.getId())
+                .products(products)
+                .active(stored.isActive())
+                .build();
+    }
+}
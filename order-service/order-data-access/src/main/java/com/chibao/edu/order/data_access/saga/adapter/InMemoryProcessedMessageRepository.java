@@ -0,0 +1,34 @@
+package com.chibao.edu.order.data_access.saga.adapter;
+
+import com.chibao.edu.domain.ports.output.repository.ProcessedMessageRepository;
+import com.chibao.edu.domain.saga.ProcessedMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// ? Reference adapter for the processed message store. Inserts fail on duplicates like the primary key of
+// * processed_message, but without a transaction the markers saved before the duplicate stay saved.
+public class InMemoryProcessedMessageRepository implements ProcessedMessageRepository {
+    private final Map<ProcessedMessage, ProcessedMessage> processedMessages = new ConcurrentHashMap<>();
+
+    @Override
+    public Set<ProcessedMessage> findProcessed(Collection<ProcessedMessage> candidates) {
+        return candidates.stream()
+                .filter(processedMessages::containsKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void saveAll(List<ProcessedMessage> messages) {
+        messages.forEach(processedMessage -> {
+            if (processedMessages.putIfAbsent(processedMessage, processedMessage) != null) {
+                throw new IllegalStateException("Message with saga id: " + processedMessage.getSagaId()
+                        + " and id: " + processedMessage.getMessageId() + " is already processed");
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.chibao.edu.domain;
+
+import com.chibao.edu.domain.cache.CustomerExistenceFilter;
+import com.chibao.edu.domain.dto.message.CustomerModel;
+import com.chibao.edu.domain.ports.input.message.listener.customer.CustomerMessageListener;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Slf4j
+@Validated
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class CustomerMessageListenerImpl implements CustomerMessageListener {
+    CustomerExistenceFilter customerExistenceFilter;
+
+    @Override
+    public void customerCreated(CustomerModel customerModel) {
+        customerExistenceFilter.register(UUID.fromString(customerModel.getId()));
+        log.info("Customer with id: {} is registered in customer filter", customerModel.getId());
+    }
+
+    @Override
+    public Optional<Instant> replayFrom() {
+        return customerExistenceFilter.replayFrom();
+    }
+}
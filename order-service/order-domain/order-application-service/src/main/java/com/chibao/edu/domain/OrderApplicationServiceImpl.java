@@ -2,8 +2,10 @@ package com.chibao.edu.domain;
 
 import com.chibao.edu.domain.dto.create.CreateOrderCommand;
 import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+import com.chibao.edu.domain.dto.create.CreateOrderResult;
 import com.chibao.edu.domain.dto.track.TrackOrderQuery;
 import com.chibao.edu.domain.dto.track.TrackOrderResponse;
+import com.chibao.edu.domain.limiter.OrderAdmissionControl;
 import com.chibao.edu.domain.ports.input.service.OrderApplicationService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
 
 @Validated
 @Service
@@ -21,15 +24,26 @@ import org.springframework.validation.annotation.Validated;
 class OrderApplicationServiceImpl implements OrderApplicationService {
     OrderCreateCommandHandler orderCreateCommandHandler;
     OrderTrackCommandHandler orderTrackCommandHandler;
+    OrderAdmissionControl orderAdmissionControl;
 
 
     @Override
     public CreateOrderResponse createOrder(CreateOrderCommand createOrderCommand) {
-        return orderCreateCommandHandler.createOrder(createOrderCommand);
+        return orderAdmissionControl.getCreateOrderLimiter()
+                .execute(() -> orderCreateCommandHandler.createOrder(createOrderCommand));
+    }
+
+    @Override
+    public List<CreateOrderResult> createOrders(List<CreateOrderCommand> createOrderCommands) {
+        // ? lookups and writes of a batch are amortized, so it takes one permit per ordersPerBatchPermit commands
+        return orderAdmissionControl.getCreateOrderLimiter()
+                .execute(orderAdmissionControl.batchPermits(createOrderCommands.size()),
+                        () -> orderCreateCommandHandler.createOrders(createOrderCommands));
     }
 
     @Override
     public TrackOrderResponse trackOrder(TrackOrderQuery trackOrderQuery) {
-        return orderTrackCommandHandler.trackOrder(trackOrderQuery);
+        return orderAdmissionControl.getTrackOrderLimiter()
+                .execute(() -> orderTrackCommandHandler.trackOrder(trackOrderQuery));
     }
 }
@@ -3,15 +3,29 @@ package com.chibao.edu.domain;
 
 import com.chibao.edu.domain.dto.create.CreateOrderCommand;
 import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+import com.chibao.edu.domain.dto.create.CreateOrderResult;
 import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.idempotency.IdempotencyKeyStore;
+import com.chibao.edu.domain.limiter.OrderRateLimitedException;
+import com.chibao.edu.domain.limiter.OrderRateLimiter;
 import com.chibao.edu.domain.mapper.OrderDataMapper;
-import com.chibao.edu.domain.ports.output.message.publisher.payment.OrderCreatedPaymentRequestMessagePublisher;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
 @Slf4j
 @Component
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -19,14 +33,115 @@ import org.springframework.stereotype.Component;
 public class OrderCreateCommandHandler {
     OrderCreateHelper orderCreateHelper;
     OrderDataMapper orderDataMapper;
-    OrderCreatedPaymentRequestMessagePublisher orderCreatedPaymentRequestMessagePublisher;
+    IdempotencyKeyStore idempotencyKeyStore;
+    OrderRateLimiter orderRateLimiter;
 
 
+    // ? a retry of an order that already exists is replayed before the rate limit, so it never spends a token
     public CreateOrderResponse createOrder(CreateOrderCommand createOrderCommand) {
-        OrderCreatedEvent orderCreatedEvent = orderCreateHelper.persistOrder(createOrderCommand);
+        UUID idempotencyKey = createOrderCommand.getIdempotencyKey();
+        if (idempotencyKey != null) {
+            Optional<CreateOrderResponse> replay = idempotencyKeyStore.find(idempotencyKey);
+            if (replay.isPresent()) {
+                log.info("Create order response is replayed for idempotency key: {}", idempotencyKey);
+                return replay.get();
+            }
+        }
+        orderRateLimiter.checkRateLimit(createOrderCommand);
+        OrderCreatedEvent orderCreatedEvent;
+        try {
+            orderCreatedEvent = orderCreateHelper.persistOrder(createOrderCommand);
+        } catch (OrderDomainException e) {
+            // ? a concurrent request with the same key may have won; this transaction was rolled back
+            if (idempotencyKey != null) {
+                Optional<CreateOrderResponse> replay = idempotencyKeyStore.find(idempotencyKey);
+                if (replay.isPresent()) {
+                    log.info("Create order response is replayed for concurrent idempotency key: {}", idempotencyKey);
+                    return replay.get();
+                }
+            }
+            throw e;
+        }
         log.info("Order is created with id: {}", orderCreatedEvent.getOrder().getId().getValue());
-        orderCreatedPaymentRequestMessagePublisher.publish(orderCreatedEvent);
-        return orderDataMapper.orderToCreateOrderResponse(orderCreatedEvent.getOrder(), "Order created successfully");
+        return orderDataMapper.orderToCreateOrderResponse(orderCreatedEvent.getOrder(),
+                OrderCreateHelper.ORDER_CREATED_MESSAGE);
     }
 
+    // ? Commands whose idempotency key is known are answered from the key store. Of several commands sharing a new
+    // * key only the first is persisted and the others get its result. A key taken by a concurrent request while the
+    // * batch ran gets that request's response. Only commands that will be persisted are rate limited; a rate
+    // * limited command fails on its own, together with the commands sharing its key.
+    public List<CreateOrderResult> createOrders(List<CreateOrderCommand> allCreateOrderCommands) {
+        Map<UUID, CreateOrderResponse> replays = idempotencyKeyStore.findAll(allCreateOrderCommands.stream()
+                .map(CreateOrderCommand::getIdempotencyKey)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        Map<UUID, CreateOrderCommand> firstCommandByKey = new HashMap<>();
+        Map<CreateOrderCommand, CreateOrderResult> rateLimitedResults = new IdentityHashMap<>();
+        List<CreateOrderCommand> commandsToPersist = new ArrayList<>();
+        for (CreateOrderCommand createOrderCommand : allCreateOrderCommands) {
+            UUID idempotencyKey = createOrderCommand.getIdempotencyKey();
+            if (idempotencyKey != null && (replays.containsKey(idempotencyKey)
+                    || firstCommandByKey.putIfAbsent(idempotencyKey, createOrderCommand) != null)) {
+                continue;
+            }
+            try {
+                orderRateLimiter.checkRateLimit(createOrderCommand);
+                commandsToPersist.add(createOrderCommand);
+            } catch (OrderRateLimitedException e) {
+                rateLimitedResults.put(createOrderCommand, CreateOrderResult.failure(e.getMessage()));
+            }
+        }
+
+        // ? payment requests of the batch are written to the outbox in the same transaction as the orders
+        Map<CreateOrderCommand, CreateOrderResult> persistedResults = new IdentityHashMap<>();
+        if (!commandsToPersist.isEmpty()) {
+            List<OrderCreateHelper.PersistOrderResult> persistOrderResults =
+                    orderCreateHelper.persistOrders(commandsToPersist);
+            // ? a concurrent request took these keys; it has committed by now, so its response can be replayed
+            Map<UUID, CreateOrderResponse> concurrentReplays = idempotencyKeyStore.findAll(
+                    IntStream.range(0, commandsToPersist.size())
+                            .filter(i -> persistOrderResults.get(i).isIdempotencyConflict())
+                            .mapToObj(i -> commandsToPersist.get(i).getIdempotencyKey())
+                            .toList());
+            for (int i = 0; i < commandsToPersist.size(); i++) {
+                persistedResults.put(commandsToPersist.get(i), toCreateOrderResult(commandsToPersist.get(i),
+                        persistOrderResults.get(i), concurrentReplays));
+            }
+        }
+        return allCreateOrderCommands.stream()
+                .map(createOrderCommand -> {
+                    UUID idempotencyKey = createOrderCommand.getIdempotencyKey();
+                    CreateOrderCommand persistedCommand = createOrderCommand;
+                    if (idempotencyKey != null) {
+                        CreateOrderResponse replay = replays.get(idempotencyKey);
+                        if (replay != null) {
+                            return CreateOrderResult.success(replay);
+                        }
+                        persistedCommand = firstCommandByKey.get(idempotencyKey);
+                    }
+                    CreateOrderResult rateLimitedResult = rateLimitedResults.get(persistedCommand);
+                    return rateLimitedResult != null ? rateLimitedResult : persistedResults.get(persistedCommand);
+                })
+                .toList();
+    }
+
+    // TODO Helpers
+    private CreateOrderResult toCreateOrderResult(CreateOrderCommand createOrderCommand,
+                                                  OrderCreateHelper.PersistOrderResult persistOrderResult,
+                                                  Map<UUID, CreateOrderResponse> concurrentReplays) {
+        if (persistOrderResult.isIdempotencyConflict()) {
+            CreateOrderResponse replay = concurrentReplays.get(createOrderCommand.getIdempotencyKey());
+            if (replay != null) {
+                log.info("Create order response is replayed for concurrent idempotency key: {}",
+                        createOrderCommand.getIdempotencyKey());
+                return CreateOrderResult.success(replay);
+            }
+        }
+        return persistOrderResult.isSuccess()
+                ? CreateOrderResult.success(orderDataMapper.orderToCreateOrderResponse(
+                        persistOrderResult.getOrderCreatedEvent().getOrder(), OrderCreateHelper.ORDER_CREATED_MESSAGE))
+                : CreateOrderResult.failure(persistOrderResult.getFailureMessage());
+    }
 }
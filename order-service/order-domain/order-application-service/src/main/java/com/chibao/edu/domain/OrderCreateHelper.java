@@ -1,48 +1,211 @@
 package com.chibao.edu.domain;
 
+import com.chibao.edu.domain.cache.CustomerExistenceFilter;
+import com.chibao.edu.domain.config.OrderCreateConfigData;
 import com.chibao.edu.domain.dto.create.CreateOrderCommand;
+import com.chibao.edu.domain.dto.create.CreateOrderResponse;
 import com.chibao.edu.domain.entity.Customer;
 import com.chibao.edu.domain.entity.Order;
 import com.chibao.edu.domain.entity.Restaurant;
 import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.exception.DomainException;
 import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.idempotency.IdempotencyKeyStore;
 import com.chibao.edu.domain.mapper.OrderDataMapper;
+import com.chibao.edu.domain.metrics.OrderMetrics;
+import com.chibao.edu.domain.metrics.OrderMetrics.Mode;
+import com.chibao.edu.domain.metrics.OrderMetrics.Step;
+import com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxHelper;
 import com.chibao.edu.domain.ports.output.repository.CustomerRepository;
 import com.chibao.edu.domain.ports.output.repository.OrderRepository;
 import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjector;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderCreateHelper {
+    public static final String ORDER_CREATED_MESSAGE = "Order created successfully";
+
     OrderDomainService orderDomainService;
     OrderRepository orderRepository;
     CustomerRepository customerRepository;
     RestaurantRepository restaurantRepository;
     OrderDataMapper orderDataMapper;
+    CustomerExistenceFilter customerExistenceFilter;
+    OrderTrackingProjector orderTrackingProjector;
+    OrderCreateConfigData orderCreateConfigData;
+    PaymentOutboxHelper paymentOutboxHelper;
+    IdempotencyKeyStore idempotencyKeyStore;
+    OrderMetrics orderMetrics;
+    // ? lookups are blocking I/O, so one cheap virtual thread per lookup
+    ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
+    // ? timed as a whole and per step (customer check, restaurant check, validation, save), see OrderMetrics
     @Transactional
     public OrderCreatedEvent persistOrder(CreateOrderCommand createOrderCommand){
+        Timer.Sample sample = orderMetrics.startCreate();
+        boolean success = false;
+        try {
+            Restaurant restaurant = Boolean.TRUE.equals(orderCreateConfigData.getParallelLookups())
+                    ? checkCustomerAndRestaurantInParallel(createOrderCommand)
+                    : checkCustomerAndRestaurant(createOrderCommand);
+            OrderCreatedEvent orderCreatedEvent = orderMetrics.recordStep(Mode.SINGLE, Step.VALIDATION, () ->
+                    orderDomainService.validateAndInitializeOrder(
+                            orderDataMapper.createOrderCommandToOrder(createOrderCommand), restaurant));
+            Order order = orderCreatedEvent.getOrder();
+            orderMetrics.recordStep(Mode.SINGLE, Step.SAVE, () -> {
+                saveOrder(order);
+                orderTrackingProjector.project(orderCreatedEvent);
+                // ? payment request is committed with the order and relayed by PaymentOutboxScheduler
+                paymentOutboxHelper.saveOrderCreatedOutboxMessage(orderCreatedEvent);
+                if (createOrderCommand.getIdempotencyKey() != null) {
+                    idempotencyKeyStore.remember(createOrderCommand.getIdempotencyKey(),
+                            orderDataMapper.orderToCreateOrderResponse(order, ORDER_CREATED_MESSAGE));
+                }
+            });
+            log.info("Order is created with id: {}", order.getId().getValue());
+            success = true;
+            return orderCreatedEvent;
+        } finally {
+            orderMetrics.stopCreate(sample, Mode.SINGLE, success);
+        }
+    }
+
+    // ? Batch variant of persistOrder: every distinct customer and restaurant is looked up once, orders are
+    // * validated in parallel and all valid orders are saved in one batch. A command that fails a check gets
+    // * its failure message back instead of failing the batch. Results keep the command order.
+    // * Idempotency keys must be distinct within the batch. Keys are taken before the orders are saved; a command
+    // * whose key another request already holds is not saved and comes back as an idempotency conflict.
+    @Transactional
+    public List<PersistOrderResult> persistOrders(List<CreateOrderCommand> createOrderCommands) {
+        Timer.Sample sample = orderMetrics.startCreate();
+        boolean success = false;
+        try {
+            List<PersistOrderResult> results = createOrders(createOrderCommands);
+            success = true;
+            return results;
+        } finally {
+            orderMetrics.stopCreate(sample, Mode.BATCH, success);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lookupExecutor.shutdown();
+    }
+
+    private List<PersistOrderResult> createOrders(List<CreateOrderCommand> createOrderCommands) {
+        Set<UUID> existingCustomerIds = orderMetrics.recordStep(Mode.BATCH, Step.CUSTOMER_CHECK,
+                () -> findExistingCustomerIds(createOrderCommands));
+        Map<UUID, Restaurant> restaurants = orderMetrics.recordStep(Mode.BATCH, Step.RESTAURANT_CHECK,
+                () -> findRestaurants(createOrderCommands));
+
+        List<PersistOrderResult> results = new ArrayList<>(orderMetrics.recordStep(Mode.BATCH, Step.VALIDATION, () ->
+                createOrderCommands.parallelStream()
+                        .map(createOrderCommand -> validateOrder(createOrderCommand, existingCustomerIds, restaurants))
+                        .toList()));
+        Map<UUID, CreateOrderResponse> idempotentResponses = new HashMap<>();
+        for (int i = 0; i < createOrderCommands.size(); i++) {
+            UUID idempotencyKey = createOrderCommands.get(i).getIdempotencyKey();
+            if (idempotencyKey != null && results.get(i).isSuccess()) {
+                idempotentResponses.put(idempotencyKey, orderDataMapper.orderToCreateOrderResponse(
+                        results.get(i).getOrderCreatedEvent().getOrder(), ORDER_CREATED_MESSAGE));
+            }
+        }
+        if (!idempotentResponses.isEmpty()) {
+            Set<UUID> takenKeys = idempotencyKeyStore.rememberAll(idempotentResponses);
+            rejectTakenIdempotencyKeys(createOrderCommands, results, takenKeys);
+        }
+
+        List<OrderCreatedEvent> orderCreatedEvents = results.stream()
+                .filter(PersistOrderResult::isSuccess)
+                .map(PersistOrderResult::getOrderCreatedEvent)
+                .toList();
+        List<Order> orders = orderCreatedEvents.stream().map(OrderCreatedEvent::getOrder).toList();
+        if (!orders.isEmpty()) {
+            orderMetrics.recordStep(Mode.BATCH, Step.SAVE, () -> {
+                saveOrders(orders);
+                orderTrackingProjector.projectAll(orders);
+                paymentOutboxHelper.saveOrderCreatedOutboxMessages(orderCreatedEvents);
+            });
+        }
+        log.info("{} of {} orders are created in batch", orders.size(), createOrderCommands.size());
+        return results;
+    }
+
+    private Restaurant checkCustomerAndRestaurant(CreateOrderCommand createOrderCommand) {
         checkCustomer(createOrderCommand.getCustomerId());
-        Restaurant restaurant = checkRestaurant(createOrderCommand);
-        Order order = orderDataMapper.createOrderCommandToOrder(createOrderCommand);
-        OrderCreatedEvent orderCreatedEvent = orderDomainService.validateAndInitializeOrder(order, restaurant);
-        saveOrder(order);
-        log.info("Order is created with id: {}", orderCreatedEvent.getOrder().getId().getValue());
-        return orderCreatedEvent;
+        return checkRestaurant(createOrderCommand);
+    }
+
+    // ? The two lookups are independent, so latency is the slower of the two instead of their sum.
+    // * Fails fast: the first lookup to fail decides the outcome without waiting for the other, and its
+    // * exception is rethrown unchanged. Both lookups are read-only and run outside the caller's transaction.
+    private Restaurant checkCustomerAndRestaurantInParallel(CreateOrderCommand createOrderCommand) {
+        CompletableFuture<Void> customerCheck = CompletableFuture.runAsync(
+                () -> checkCustomer(createOrderCommand.getCustomerId()), lookupExecutor);
+        CompletableFuture<Restaurant> restaurantCheck = CompletableFuture.supplyAsync(
+                () -> checkRestaurant(createOrderCommand), lookupExecutor);
+
+        CompletableFuture<Restaurant> result = new CompletableFuture<>();
+        customerCheck.whenComplete((ignored, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            }
+        });
+        restaurantCheck.whenComplete((ignored, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            }
+        });
+        customerCheck.thenCombine(restaurantCheck, (ignored, restaurant) -> restaurant).thenAccept(result::complete);
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            customerCheck.cancel(true);
+            restaurantCheck.cancel(true);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OrderDomainException("Could not check customer and restaurant!", e.getCause());
+        }
     }
 
     private Restaurant checkRestaurant(CreateOrderCommand createOrderCommand) {
+        return orderMetrics.recordStep(Mode.SINGLE, Step.RESTAURANT_CHECK, () -> findRestaurant(createOrderCommand));
+    }
+
+    private void checkCustomer(UUID customerId) {
+        orderMetrics.recordStep(Mode.SINGLE, Step.CUSTOMER_CHECK, () -> findCustomer(customerId));
+    }
+
+    private Restaurant findRestaurant(CreateOrderCommand createOrderCommand) {
         Restaurant restaurant = orderDataMapper.createOrderCommandToRestaurant(createOrderCommand);
         Optional<Restaurant> optionalRestaurant = restaurantRepository.findRestaurantInformation(restaurant);
         if (optionalRestaurant.isEmpty()) {
@@ -52,15 +215,96 @@ public class OrderCreateHelper {
         return optionalRestaurant.get();
     }
 
-    private void checkCustomer(UUID customerId) {
+    private void findCustomer(UUID customerId) {
+        if (customerExistenceFilter.isConfirmed(customerId)) {
+            return;
+        }
+        if (!customerExistenceFilter.mightExist(customerId)) {
+            log.warn("Could not find customer with customerId: {}", customerId);
+            throw new OrderDomainException("Could not find customer with customerId: " + customerId);
+        }
         Optional<Customer> customer = customerRepository.findCustomer(customerId);
         if (customer.isEmpty()) {
+            customerExistenceFilter.recordFalsePositive();
             log.warn("Could not find customer with customerId: {}", customerId);
             throw new OrderDomainException("Could not find customer with customerId: " + customerId);
         }
+        customerExistenceFilter.confirm(customerId);
+    }
+
+    private PersistOrderResult validateOrder(CreateOrderCommand createOrderCommand, Set<UUID> existingCustomerIds,
+                                             Map<UUID, Restaurant> restaurants) {
+        try {
+            if (!existingCustomerIds.contains(createOrderCommand.getCustomerId())) {
+                throw new OrderDomainException("Could not find customer with customerId: "
+                        + createOrderCommand.getCustomerId());
+            }
+            Restaurant restaurant = restaurants.get(createOrderCommand.getRestaurantId());
+            if (restaurant == null) {
+                throw new OrderDomainException("Could not find restaurant with restaurant id: "
+                        + createOrderCommand.getRestaurantId());
+            }
+            Order order = orderDataMapper.createOrderCommandToOrder(createOrderCommand);
+            return PersistOrderResult.success(orderDomainService.validateAndInitializeOrder(order, restaurant));
+        } catch (DomainException e) {
+            log.warn("Order in batch is rejected: {}", e.getMessage());
+            return PersistOrderResult.failure(e.getMessage());
+        }
+    }
+
+    // ? all distinct customer ids resolved in one round trip; confirmed and definitely unknown ids never reach storage
+    private Set<UUID> findExistingCustomerIds(List<CreateOrderCommand> createOrderCommands) {
+        Set<UUID> existingCustomerIds = new HashSet<>();
+        Set<UUID> customerIdsToLoad = new HashSet<>();
+        createOrderCommands.stream()
+                .map(CreateOrderCommand::getCustomerId)
+                .distinct()
+                .forEach(customerId -> {
+                    if (customerExistenceFilter.isConfirmed(customerId)) {
+                        existingCustomerIds.add(customerId);
+                    } else if (customerExistenceFilter.mightExist(customerId)) {
+                        customerIdsToLoad.add(customerId);
+                    }
+                });
+        if (!customerIdsToLoad.isEmpty()) {
+            Set<UUID> foundCustomerIds = customerRepository.findCustomers(customerIdsToLoad).keySet();
+            customerIdsToLoad.forEach(customerId -> {
+                if (foundCustomerIds.contains(customerId)) {
+                    customerExistenceFilter.confirm(customerId);
+                    existingCustomerIds.add(customerId);
+                } else {
+                    customerExistenceFilter.recordFalsePositive();
+                }
+            });
+        }
+        return existingCustomerIds;
+    }
+
+    // ? all distinct restaurants resolved in one round trip, each asking for all products ordered from it in the batch
+    private Map<UUID, Restaurant> findRestaurants(List<CreateOrderCommand> createOrderCommands) {
+        List<Restaurant> restaurantRequests = createOrderCommands.stream()
+                .collect(Collectors.groupingBy(CreateOrderCommand::getRestaurantId))
+                .values().stream()
+                .map(orderDataMapper::createOrderCommandsToRestaurant)
+                .toList();
+        Map<UUID, Restaurant> restaurants = new HashMap<>();
+        restaurantRepository.findRestaurantsInformation(restaurantRequests)
+                .forEach((restaurantId, restaurant) -> restaurants.put(restaurantId.getValue(), restaurant));
+        return restaurants;
     }
 
     // TODO Helpers
+    private void rejectTakenIdempotencyKeys(List<CreateOrderCommand> createOrderCommands,
+                                            List<PersistOrderResult> results, Set<UUID> takenKeys) {
+        for (int i = 0; i < createOrderCommands.size(); i++) {
+            UUID idempotencyKey = createOrderCommands.get(i).getIdempotencyKey();
+            if (idempotencyKey != null && takenKeys.contains(idempotencyKey) && results.get(i).isSuccess()) {
+                results.set(i, PersistOrderResult.idempotencyConflict(
+                        "Idempotency key: " + idempotencyKey + " is already used!"));
+            }
+        }
+    }
+
     private Order saveOrder(Order order){
         Order orderResult = orderRepository.save(order);
         if (orderResult == null){
@@ -69,4 +313,39 @@ public class OrderCreateHelper {
         log.info("Order is saved with id: {}", orderResult.getId());
         return orderResult;
     }
+
+    private List<Order> saveOrders(List<Order> orders) {
+        List<Order> orderResults = orderRepository.saveAll(orders);
+        if (orderResults == null || orderResults.size() != orders.size()) {
+            throw new OrderDomainException("Could not save orders in batch !");
+        }
+        log.info("{} orders are saved in batch", orderResults.size());
+        return orderResults;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static class PersistOrderResult {
+        OrderCreatedEvent orderCreatedEvent;
+        String failureMessage;
+        // ? the key was taken by a concurrent request, whose response can be replayed once it committed
+        boolean idempotencyConflict;
+
+        static PersistOrderResult success(OrderCreatedEvent orderCreatedEvent) {
+            return new PersistOrderResult(orderCreatedEvent, null, false);
+        }
+
+        static PersistOrderResult failure(String failureMessage) {
+            return new PersistOrderResult(null, failureMessage, false);
+        }
+
+        static PersistOrderResult idempotencyConflict(String failureMessage) {
+            return new PersistOrderResult(null, failureMessage, true);
+        }
+
+        public boolean isSuccess() {
+            return orderCreatedEvent != null;
+        }
+    }
 }
@@ -1,11 +1,13 @@
 package com.chibao.edu.domain;
 
+import com.chibao.edu.domain.cache.TrackOrderCache;
 import com.chibao.edu.domain.dto.track.TrackOrderQuery;
 import com.chibao.edu.domain.dto.track.TrackOrderResponse;
-import com.chibao.edu.domain.entity.Order;
 import com.chibao.edu.domain.exception.OrderNotFoundException;
 import com.chibao.edu.domain.mapper.OrderDataMapper;
-import com.chibao.edu.domain.ports.output.repository.OrderRepository;
+import com.chibao.edu.domain.metrics.OrderMetrics;
+import com.chibao.edu.domain.ports.output.repository.OrderTrackingRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjection;
 import com.chibao.edu.domain.value_object.TrackingId;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Component
@@ -22,17 +25,29 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderTrackCommandHandler {
     OrderDataMapper orderDataMapper;
-    OrderRepository orderRepository;
+    // ? reads the tracking projection only; the order aggregate is never loaded for tracking
+    OrderTrackingRepository orderTrackingRepository;
+    TrackOrderCache trackOrderCache;
+    OrderMetrics orderMetrics;
 
 
+    // ? concurrent polls of one tracking id share a single lookup; see TrackOrderCache
     @Transactional(readOnly = true)
     public TrackOrderResponse trackOrder(TrackOrderQuery trackOrderQuery) {
-        Optional<Order> orderResult = orderRepository.findByTrackingId(new TrackingId(trackOrderQuery.getOrderTrackingId()));
+        UUID orderTrackingId = trackOrderQuery.getOrderTrackingId();
+        return orderMetrics.recordTrack(() ->
+                trackOrderCache.get(orderTrackingId, () -> findTrackOrderResponse(orderTrackingId)));
+    }
+
+    // TODO Helpers
+    private TrackOrderResponse findTrackOrderResponse(UUID orderTrackingId) {
+        Optional<OrderTrackingProjection> orderResult =
+                orderTrackingRepository.findByTrackingId(new TrackingId(orderTrackingId));
         if (orderResult.isEmpty()) {
-            log.warn("Could not find order with tracking id: {}", trackOrderQuery.getOrderTrackingId());
-            throw new OrderNotFoundException("Could not find order with tracking id: " + trackOrderQuery.getOrderTrackingId());
+            log.warn("Could not find order with tracking id: {}", orderTrackingId);
+            throw new OrderNotFoundException("Could not find order with tracking id: " + orderTrackingId);
 
         }
-        return orderDataMapper.orderToTrackOrderResponse(orderResult.get());
+        return orderDataMapper.orderTrackingProjectionToTrackOrderResponse(orderResult.get());
     }
 }
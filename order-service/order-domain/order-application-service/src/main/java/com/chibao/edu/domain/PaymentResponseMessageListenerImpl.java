@@ -1,23 +1,46 @@
 package com.chibao.edu.domain;
 
 import com.chibao.edu.domain.dto.message.PaymentResponse;
+import com.chibao.edu.domain.event.OrderPaidEvent;
 import com.chibao.edu.domain.ports.input.message.listener.payment.PaymentResponseMessageListener;
+import com.chibao.edu.domain.saga.OrderPaymentSaga;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 @Service
 @Slf4j
 @Validated
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class PaymentResponseMessageListenerImpl implements PaymentResponseMessageListener {
+    OrderPaymentSaga orderPaymentSaga;
 
     @Override
     public void paymentCompleted(PaymentResponse paymentResponse) {
-
+        paymentResponses(List.of(paymentResponse));
     }
 
     @Override
     public void paymentCancelled(PaymentResponse paymentResponse) {
+        paymentResponses(List.of(paymentResponse));
+    }
 
+    // ? The restaurant approval requests are written to the approval outbox by the saga transaction and sent by
+    // * ApprovalOutboxRelay, so nothing is published from here and a failed send is retried, not lost.
+    @Override
+    public void paymentResponses(List<PaymentResponse> paymentResponses) {
+        if (paymentResponses.isEmpty()) {
+            return;
+        }
+        List<OrderPaidEvent> orderPaidEvents = orderPaymentSaga.process(paymentResponses);
+        if (!orderPaidEvents.isEmpty()) {
+            log.info("{} paid orders are queued for restaurant approval", orderPaidEvents.size());
+        }
     }
 }
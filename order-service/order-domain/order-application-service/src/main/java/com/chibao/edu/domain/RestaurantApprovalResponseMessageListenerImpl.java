@@ -1,23 +1,46 @@
 package com.chibao.edu.domain;
 
 import com.chibao.edu.domain.dto.message.RestaurantApprovalResponse;
+import com.chibao.edu.domain.event.OrderCancelledEvent;
 import com.chibao.edu.domain.ports.input.message.listener.restaurant_approval.RestaurantApprovalResponseMessageListener;
+import com.chibao.edu.domain.saga.OrderApprovalSaga;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 @Service
 @Slf4j
 @Validated
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class RestaurantApprovalResponseMessageListenerImpl implements RestaurantApprovalResponseMessageListener {
+    OrderApprovalSaga orderApprovalSaga;
 
     @Override
     public void orderApproved(RestaurantApprovalResponse restaurantApprovalResponse) {
-
+        restaurantApprovalResponses(List.of(restaurantApprovalResponse));
     }
 
     @Override
     public void orderRejected(RestaurantApprovalResponse restaurantApprovalResponse) {
+        restaurantApprovalResponses(List.of(restaurantApprovalResponse));
+    }
 
+    // ? The payment cancel requests are written to the payment outbox by the saga transaction and sent by
+    // * PaymentOutboxRelay, so nothing is published from here and a failed send is retried, not lost.
+    @Override
+    public void restaurantApprovalResponses(List<RestaurantApprovalResponse> restaurantApprovalResponses) {
+        if (restaurantApprovalResponses.isEmpty()) {
+            return;
+        }
+        List<OrderCancelledEvent> orderCancelledEvents = orderApprovalSaga.process(restaurantApprovalResponses);
+        if (!orderCancelledEvents.isEmpty()) {
+            log.info("{} rejected orders are queued for payment cancellation", orderCancelledEvents.size());
+        }
     }
 }
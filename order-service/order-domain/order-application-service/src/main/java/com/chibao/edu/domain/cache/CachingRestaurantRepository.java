@@ -0,0 +1,298 @@
+package com.chibao.edu.domain.cache;
+
+import com.chibao.edu.domain.config.RestaurantCacheConfigData;
+import com.chibao.edu.domain.entity.Product;
+import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
+import com.chibao.edu.domain.value_object.ProductId;
+import com.chibao.edu.domain.value_object.RestaurantId;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// ? Caching decorator for RestaurantRepository. Menus change a few times a day, so restaurants are kept in memory
+// * with size and TTL eviction plus refresh-ahead. Each entry remembers which product ids have already been asked
+// * for, so a lookup for a known product set is answered from memory, including products the restaurant does not
+// * offer. The remembered set is capped per restaurant. Misses are single-flight per restaurant: a lookup whose
+// * products are covered by a load already in flight waits for that load instead of reading storage again.
+// * Storage is read outside the cache lock, and a load that started before an invalidate is returned to its
+// * callers but never stored. Call invalidate on menu updates.
+@Slf4j
+public class CachingRestaurantRepository implements RestaurantRepository {
+    private final RestaurantRepository restaurantRepository;
+    private final LoadingCache<RestaurantId, CachedRestaurant> cache;
+    private final Map<RestaurantId, InFlightLoad> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    // ? bumped by every invalidate; a load that saw an older value may hold a pre-update menu
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+    private final int maximumTrackedProductIds;
+
+    public CachingRestaurantRepository(RestaurantRepository restaurantRepository,
+                                       RestaurantCacheConfigData restaurantCacheConfigData) {
+        this.restaurantRepository = restaurantRepository;
+        this.maximumTrackedProductIds = restaurantCacheConfigData.getMaximumTrackedProductIds();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(restaurantCacheConfigData.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(restaurantCacheConfigData.getExpireAfterWriteMs()))
+                .refreshAfterWrite(Duration.ofMillis(restaurantCacheConfigData.getRefreshAfterWriteMs()))
+                .recordStats()
+                .build(new RestaurantRefresher());
+    }
+
+    @Override
+    public Optional<Restaurant> findRestaurantInformation(Restaurant restaurant) {
+        RestaurantId restaurantId = restaurant.getId();
+        Set<ProductId> requestedProductIds = productIds(restaurant);
+        while (true) {
+            CachedRestaurant cached = cache.getIfPresent(restaurantId);
+            if (cached != null && cached.covers(requestedProductIds)) {
+                hitCount.increment();
+                return Optional.of(cached.restaurant());
+            }
+            InFlightLoad load = new InFlightLoad(trackedProductIds(cached, requestedProductIds),
+                    invalidationGeneration.get());
+            InFlightLoad existing = inFlight.putIfAbsent(restaurantId, load);
+            if (existing == null) {
+                missCount.increment();
+                lead(List.of(restaurantRequest(restaurantId, load.productIds())), Map.of(restaurantId, load));
+                return Optional.ofNullable(join(load.future())).map(CachedRestaurant::restaurant);
+            }
+            if (existing.covers(requestedProductIds)) {
+                coalescedCount.increment();
+                return Optional.ofNullable(join(existing.future())).map(CachedRestaurant::restaurant);
+            }
+            // * a narrower load is in flight: wait for it to settle, then look again (its entry may be enough)
+            existing.future().exceptionally(e -> null).join();
+        }
+    }
+
+    @Override
+    public Map<RestaurantId, Restaurant> findRestaurantsInformation(Collection<Restaurant> restaurants) {
+        Map<RestaurantId, Restaurant> result = new HashMap<>();
+        Map<RestaurantId, InFlightLoad> led = new HashMap<>();
+        List<Restaurant> misses = new ArrayList<>();
+        Map<RestaurantId, InFlightLoad> followed = new HashMap<>();
+        List<Restaurant> retries = new ArrayList<>();
+        for (Restaurant restaurant : restaurants) {
+            RestaurantId restaurantId = restaurant.getId();
+            Set<ProductId> requestedProductIds = productIds(restaurant);
+            CachedRestaurant cached = cache.getIfPresent(restaurantId);
+            if (cached != null && cached.covers(requestedProductIds)) {
+                hitCount.increment();
+                result.put(restaurantId, cached.restaurant());
+                continue;
+            }
+            InFlightLoad load = new InFlightLoad(trackedProductIds(cached, requestedProductIds),
+                    invalidationGeneration.get());
+            InFlightLoad existing = inFlight.putIfAbsent(restaurantId, load);
+            if (existing == null) {
+                missCount.increment();
+                led.put(restaurantId, load);
+                misses.add(restaurantRequest(restaurantId, load.productIds()));
+            } else if (existing.covers(requestedProductIds)) {
+                coalescedCount.increment();
+                followed.put(restaurantId, existing);
+            } else {
+                retries.add(restaurant);
+            }
+        }
+        // ? all led misses in one round trip; the followed loads are only joined after ours are completed,
+        // * so a restaurant listed twice in the batch never waits on itself
+        if (!misses.isEmpty()) {
+            lead(misses, led);
+        }
+        led.forEach((restaurantId, load) -> putLoaded(result, restaurantId, join(load.future())));
+        followed.forEach((restaurantId, load) -> putLoaded(result, restaurantId, join(load.future())));
+        for (Restaurant retry : retries) {
+            findRestaurantInformation(retry).ifPresent(restaurant -> result.put(retry.getId(), restaurant));
+        }
+        return result;
+    }
+
+    // TODO Invalidation hooks
+    public void invalidate(RestaurantId restaurantId) {
+        invalidationGeneration.incrementAndGet();
+        // * later lookups must not join a load that may return the old menu
+        inFlight.remove(restaurantId);
+        cache.invalidate(restaurantId);
+        log.info("Restaurant with id: {} is evicted from cache", restaurantId.getValue());
+    }
+
+    public void invalidateAll() {
+        invalidationGeneration.incrementAndGet();
+        inFlight.clear();
+        cache.invalidateAll();
+        log.info("Restaurant cache is cleared");
+    }
+
+    // TODO Metrics
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    // TODO Helpers
+    // ? reads storage for the loads this thread registered and completes them; waiters are released even when
+    // * the read fails, with the same exception
+    private void lead(List<Restaurant> requests, Map<RestaurantId, InFlightLoad> loads) {
+        try {
+            Map<RestaurantId, Restaurant> loaded = requests.size() == 1
+                    ? restaurantRepository.findRestaurantInformation(requests.getFirst())
+                            .map(restaurant -> Map.of(restaurant.getId(), restaurant))
+                            .orElse(Map.of())
+                    : restaurantRepository.findRestaurantsInformation(requests);
+            loads.forEach((restaurantId, load) -> {
+                Restaurant restaurant = loaded.get(restaurantId);
+                CachedRestaurant cachedRestaurant =
+                        restaurant == null ? null : new CachedRestaurant(restaurant, load.productIds());
+                if (cachedRestaurant != null) {
+                    store(restaurantId, cachedRestaurant, load.generation());
+                }
+                inFlight.remove(restaurantId, load);
+                load.future().complete(cachedRestaurant);
+            });
+        } catch (Throwable e) {
+            loads.forEach((restaurantId, load) -> {
+                inFlight.remove(restaurantId, load);
+                load.future().completeExceptionally(e);
+            });
+            throw e;
+        }
+    }
+
+    // ? the bin lock only guards the swap; the value was loaded before taking it
+    private void store(RestaurantId restaurantId, CachedRestaurant loaded, long generation) {
+        cache.asMap().compute(restaurantId, (id, current) -> {
+            if (invalidationGeneration.get() != generation) {
+                // * invalidated while loading: the loaded menu may be stale
+                return current;
+            }
+            if (current != null && current.covers(loaded.requestedProductIds())) {
+                // * another thread stored a wider entry while we were loading
+                return current;
+            }
+            return loaded;
+        });
+    }
+
+    private CachedRestaurant load(RestaurantId restaurantId, CachedRestaurant current, Set<ProductId> requestedProductIds) {
+        Set<ProductId> productIds = trackedProductIds(current, requestedProductIds);
+        return restaurantRepository.findRestaurantInformation(restaurantRequest(restaurantId, productIds))
+                .map(restaurant -> new CachedRestaurant(restaurant, productIds))
+                .orElse(null);
+    }
+
+    // * union of the remembered and the requested ids, unless that would pass the cap
+    private Set<ProductId> trackedProductIds(CachedRestaurant current, Set<ProductId> requestedProductIds) {
+        Set<ProductId> productIds = new HashSet<>(requestedProductIds);
+        if (current != null
+                && current.requestedProductIds().size() + requestedProductIds.size() <= maximumTrackedProductIds) {
+            productIds.addAll(current.requestedProductIds());
+        }
+        return productIds;
+    }
+
+    private static Restaurant restaurantRequest(RestaurantId restaurantId, Set<ProductId> productIds) {
+        return Restaurant.builder()
+                .id(restaurantId)
+                .products(productIds.stream().map(Product::new).toList())
+                .build();
+    }
+
+    private static Set<ProductId> productIds(Restaurant restaurant) {
+        Set<ProductId> productIds = new HashSet<>();
+        if (restaurant.getProducts() != null) {
+            for (Product product : restaurant.getProducts()) {
+                productIds.add(product.getId());
+            }
+        }
+        return productIds;
+    }
+
+    private static void putLoaded(Map<RestaurantId, Restaurant> result, RestaurantId restaurantId,
+                                  CachedRestaurant cachedRestaurant) {
+        if (cachedRestaurant != null) {
+            result.put(restaurantId, cachedRestaurant.restaurant());
+        }
+    }
+
+    private static CachedRestaurant join(CompletableFuture<CachedRestaurant> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    // ? restaurant as loaded from storage plus every product id that was asked for, found or not
+    private record CachedRestaurant(Restaurant restaurant, Set<ProductId> requestedProductIds) {
+        boolean covers(Set<ProductId> productIds) {
+            return requestedProductIds.containsAll(productIds);
+        }
+    }
+
+    // ? a storage read in flight for one restaurant: the product ids it asks for and the invalidation generation
+    // * it started in; completes with null when the restaurant does not exist
+    private record InFlightLoad(Set<ProductId> productIds, long generation,
+                                CompletableFuture<CachedRestaurant> future) {
+        InFlightLoad(Set<ProductId> productIds, long generation) {
+            this(productIds, generation, new CompletableFuture<>());
+        }
+
+        boolean covers(Set<ProductId> requestedProductIds) {
+            return productIds.containsAll(requestedProductIds);
+        }
+    }
+
+    // ? used by refresh-ahead: reloads the same product set in the background while the old entry is still served
+    private class RestaurantRefresher implements CacheLoader<RestaurantId, CachedRestaurant> {
+        @Override
+        public CachedRestaurant load(RestaurantId restaurantId) {
+            return CachingRestaurantRepository.this.load(restaurantId, null, Set.of());
+        }
+
+        @Override
+        public CachedRestaurant reload(RestaurantId restaurantId, CachedRestaurant oldValue) {
+            return CachingRestaurantRepository.this.load(restaurantId, oldValue, Set.of());
+        }
+    }
+}
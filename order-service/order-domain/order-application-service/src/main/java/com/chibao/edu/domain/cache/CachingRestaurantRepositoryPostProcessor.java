@@ -0,0 +1,33 @@
+package com.chibao.edu.domain.cache;
+
+import com.chibao.edu.domain.config.RestaurantCacheConfigData;
+import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// ? Puts CachingRestaurantRepository in front of the storage adapter registered as RestaurantRepository, so every
+// * injection point (OrderCreateHelper included) reads through the cache without knowing about it.
+// * The config is resolved when the adapter is wrapped because post processors are created before most other beans.
+@Slf4j
+@Component
+public class CachingRestaurantRepositoryPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<RestaurantCacheConfigData> restaurantCacheConfigDataProvider;
+
+    public CachingRestaurantRepositoryPostProcessor(
+            ObjectProvider<RestaurantCacheConfigData> restaurantCacheConfigDataProvider) {
+        this.restaurantCacheConfigDataProvider = restaurantCacheConfigDataProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof RestaurantRepository restaurantRepository)
+                || bean instanceof CachingRestaurantRepository) {
+            return bean;
+        }
+        log.info("Restaurant repository bean: {} is wrapped by the restaurant cache", beanName);
+        return new CachingRestaurantRepository(restaurantRepository,
+                restaurantCacheConfigDataProvider.getIfAvailable(RestaurantCacheConfigData::new));
+    }
+}
@@ -0,0 +1,125 @@
+package com.chibao.edu.domain.cache;
+
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.config.CustomerFilterConfigData;
+import com.chibao.edu.domain.ports.output.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+// ? Existence check in front of CustomerRepository. A Bloom filter seeded from the customer store and fed from
+// * the customer topic answers "definitely unknown" without touching storage, which is what random-id bot
+// * traffic hits. A small positive cache skips storage for customers that were confirmed recently.
+// * The topic consumer starts from replayFrom(), a point taken before the seed scan, so a customer created while
+// * the scan ran is registered by one or the other. While disabled, every id is reported as "might exist" and
+// * callers fall back to the repository.
+@Slf4j
+@Component
+public class CustomerExistenceFilter {
+    private final CustomerRepository customerRepository;
+    private final DomainClock domainClock;
+    private final boolean enabled;
+    private final Duration seedOverlap;
+    private final UuidBloomFilter bloomFilter;
+    private final Cache<UUID, Boolean> confirmedCustomers;
+    private final LongAdder definiteMissCount = new LongAdder();
+    private final LongAdder falsePositiveCount = new LongAdder();
+    private final LongAdder positiveCacheHitCount = new LongAdder();
+    private volatile Instant replayFrom;
+
+    public CustomerExistenceFilter(CustomerRepository customerRepository,
+                                   CustomerFilterConfigData customerFilterConfigData,
+                                   DomainClock domainClock) {
+        this.customerRepository = customerRepository;
+        this.domainClock = domainClock;
+        this.enabled = Boolean.TRUE.equals(customerFilterConfigData.getEnabled());
+        this.seedOverlap = Duration.ofMillis(customerFilterConfigData.getSeedOverlapMs());
+        this.bloomFilter = enabled
+                ? new UuidBloomFilter(customerFilterConfigData.getExpectedInsertions(),
+                customerFilterConfigData.getFalsePositiveRate())
+                : null;
+        this.confirmedCustomers = Caffeine.newBuilder()
+                .maximumSize(customerFilterConfigData.getPositiveCacheSize())
+                .expireAfterWrite(Duration.ofMillis(customerFilterConfigData.getPositiveCacheTtlMs()))
+                .build();
+    }
+
+    @PostConstruct
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        // * taken before the scan: everything created after it reaches the filter from the topic
+        replayFrom = domainClock.instant().minus(seedOverlap);
+        long customerCount = customerRepository.forEachCustomerId(bloomFilter::put);
+        log.info("Customer filter is seeded with {} customers, {} bytes, expected false positive rate: {}",
+                customerCount, bloomFilter.getMemoryBytes(), bloomFilter.expectedFalsePositiveRate());
+    }
+
+    // ? where the customer topic consumer has to start; empty while the filter is disabled (nothing to feed)
+    public Optional<Instant> replayFrom() {
+        return Optional.ofNullable(replayFrom);
+    }
+
+    // ? called for every customer created on the customer topic
+    public void register(UUID customerId) {
+        if (enabled) {
+            bloomFilter.put(customerId);
+        }
+    }
+
+    public boolean isConfirmed(UUID customerId) {
+        if (confirmedCustomers.getIfPresent(customerId) != null) {
+            positiveCacheHitCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    // ? false means the customer definitely does not exist; true means storage has to be asked
+    public boolean mightExist(UUID customerId) {
+        if (!enabled || bloomFilter.mightContain(customerId)) {
+            return true;
+        }
+        definiteMissCount.increment();
+        return false;
+    }
+
+    public void confirm(UUID customerId) {
+        confirmedCustomers.put(customerId, Boolean.TRUE);
+    }
+
+    // ? the filter said "might exist" but storage had no such customer
+    public void recordFalsePositive() {
+        falsePositiveCount.increment();
+    }
+
+    // TODO Metrics
+    public long getDefiniteMissCount() {
+        return definiteMissCount.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.sum();
+    }
+
+    public long getPositiveCacheHitCount() {
+        return positiveCacheHitCount.sum();
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return enabled ? bloomFilter.expectedFalsePositiveRate() : 0;
+    }
+
+    public long getMemoryBytes() {
+        return enabled ? bloomFilter.getMemoryBytes() : 0;
+    }
+}
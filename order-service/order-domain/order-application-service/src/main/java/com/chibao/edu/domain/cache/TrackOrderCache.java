@@ -0,0 +1,123 @@
+package com.chibao.edu.domain.cache;
+
+import com.chibao.edu.domain.config.TrackOrderCacheConfigData;
+import com.chibao.edu.domain.dto.track.TrackOrderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// ? Single-flight plus micro-cache for tracking lookups. Concurrent lookups of one tracking id share one
+// * repository call and its result (or its exception). The result is then reused for ttlMs.
+// * invalidate() drops the cached entry and any in-flight result on a status change, so a load that started
+// * before the change can never be cached.
+@Slf4j
+@Component
+public class TrackOrderCache {
+    private final Map<UUID, CompletableFuture<TrackOrderResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<UUID, TrackOrderResponse> responses;
+    private final boolean cacheEnabled;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+
+    public TrackOrderCache(TrackOrderCacheConfigData trackOrderCacheConfigData) {
+        this.cacheEnabled = trackOrderCacheConfigData.getTtlMs() > 0;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(trackOrderCacheConfigData.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(Math.max(1, trackOrderCacheConfigData.getTtlMs())))
+                .build();
+    }
+
+    public TrackOrderResponse get(UUID trackingId, Supplier<TrackOrderResponse> loader) {
+        TrackOrderResponse cached = responses.getIfPresent(trackingId);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        CompletableFuture<TrackOrderResponse> load = new CompletableFuture<>();
+        CompletableFuture<TrackOrderResponse> existing = inFlight.putIfAbsent(trackingId, load);
+        if (existing != null) {
+            coalescedCount.increment();
+            return join(existing);
+        }
+        loadCount.increment();
+        try {
+            TrackOrderResponse trackOrderResponse = loader.get();
+            // * cache only if no invalidation removed our load in the meantime; atomic with invalidate()
+            inFlight.computeIfPresent(trackingId, (id, current) -> {
+                if (current == load && cacheEnabled) {
+                    responses.put(id, trackOrderResponse);
+                }
+                return current == load ? null : current;
+            });
+            load.complete(trackOrderResponse);
+            return trackOrderResponse;
+        } catch (Throwable e) {
+            // * Errors too: waiters must never be left on a future that nobody completes
+            inFlight.remove(trackingId, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // ? call on every status change of the order; inside a transaction it is repeated after commit so readers
+    // * cannot re-cache the old status before the new one is visible
+    public void invalidate(UUID trackingId) {
+        evict(trackingId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(trackingId);
+                }
+            });
+        }
+    }
+
+    // TODO Metrics
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    // TODO Helpers
+    private void evict(UUID trackingId) {
+        inFlight.compute(trackingId, (id, current) -> {
+            responses.invalidate(id);
+            return null;
+        });
+    }
+
+    private static TrackOrderResponse join(CompletableFuture<TrackOrderResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.concurrency-limit")
+public class ConcurrencyLimitConfigData {
+    private Limit createOrder = new Limit();
+    private Limit trackOrder = new Limit();
+    // * a createOrders batch takes one createOrder permit per this many commands
+    private Integer ordersPerBatchPermit = 10;
+
+    @Data
+    public static class Limit {
+        private Integer initialLimit = 20;
+        private Integer minLimit = 2;
+        private Integer maxLimit = 200;
+        // * the limit is multiplied by this on a slow or dropped call, at most once per window of calls in flight
+        private Double backoffRatio = 0.9;
+        // * calls slower than this count as a congestion signal
+        private Long latencyThresholdMs = 1000L;
+    }
+}
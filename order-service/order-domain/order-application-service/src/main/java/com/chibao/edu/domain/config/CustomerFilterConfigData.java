@@ -0,0 +1,22 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.customer-filter")
+public class CustomerFilterConfigData {
+    // * off by default: the filter must be fed from the customer topic, otherwise new customers would be rejected
+    private Boolean enabled = false;
+    // * number of customers the filter is sized for; memory = -n * ln(p) / ln(2)^2 bits
+    private Long expectedInsertions = 1_000_000L;
+    private Double falsePositiveRate = 0.01;
+    // * customers confirmed by storage, kept to skip the lookup on their next orders
+    private Long positiveCacheSize = 10_000L;
+    private Long positiveCacheTtlMs = 300_000L;
+    // * the customer topic is replayed from this long before the seed scan started, for customers whose event was
+    // * produced before their row was visible to the scan
+    private Long seedOverlapMs = 60_000L;
+}
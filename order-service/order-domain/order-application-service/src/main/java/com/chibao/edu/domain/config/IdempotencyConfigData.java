@@ -0,0 +1,13 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.idempotency")
+public class IdempotencyConfigData {
+    // * how long a create order response is replayed for retries with the same idempotency key
+    private Long ttlMs = 86400000L;
+}
@@ -0,0 +1,13 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.create-order")
+public class OrderCreateConfigData {
+    // * run the customer and restaurant lookups of persistOrder concurrently on virtual threads
+    private Boolean parallelLookups = false;
+}
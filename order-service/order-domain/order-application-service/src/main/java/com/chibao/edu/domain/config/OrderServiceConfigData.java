@@ -0,0 +1,16 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service")
+public class OrderServiceConfigData {
+    private String paymentRequestTopicName;
+    private String paymentResponseTopicName;
+    private String restaurantApprovalRequestTopicName;
+    private String restaurantApprovalResponseTopicName;
+    private String customerTopicName;
+}
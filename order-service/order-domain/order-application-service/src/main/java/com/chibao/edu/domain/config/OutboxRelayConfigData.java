@@ -0,0 +1,24 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.outbox-relay")
+public class OutboxRelayConfigData {
+    // * rows claimed and sent per shard and round trip
+    private Integer batchSize = 500;
+    // * relay threads of this instance, each owning one shard
+    private Integer relayThreads = 4;
+    // * every relay instance needs a distinct index in [0, instanceCount)
+    private Integer instanceIndex = 0;
+    private Integer instanceCount = 1;
+    // * how long a batch waits for broker acks before leaving unacked rows for the next run
+    private Long ackTimeoutMs = 30000L;
+    // * how long a claimed row is owned by one relay; keep it above ackTimeoutMs or rows are sent twice
+    private Long leaseMs = 60000L;
+    // * completed rows older than this are deleted by the cleaner
+    private Long completedRetentionMs = 3600000L;
+}
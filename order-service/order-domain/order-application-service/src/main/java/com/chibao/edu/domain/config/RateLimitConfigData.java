@@ -0,0 +1,36 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.rate-limit")
+public class RateLimitConfigData {
+    private Boolean enabled = false;
+    private Dimension customer = new Dimension();
+    private Dimension restaurant = new Dimension();
+
+    @Data
+    public static class Dimension {
+        private String defaultTier = "standard";
+        // * tier name -> limit, e.g. standard, premium, partner
+        private Map<String, Tier> tiers = new HashMap<>(Map.of("standard", new Tier()));
+        // * id -> tier name for keys that are not on the default tier
+        private Map<UUID, String> assignments = new HashMap<>();
+        // * buckets untouched for this long are dropped; a dropped bucket comes back full
+        private Long idleEvictionMs = 600000L;
+        private Long maximumKeys = 5_000_000L;
+    }
+
+    @Data
+    public static class Tier {
+        private Double ratePerSecond = 5.0;
+        private Integer burst = 20;
+    }
+}
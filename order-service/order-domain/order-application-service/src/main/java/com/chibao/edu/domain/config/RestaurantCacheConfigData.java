@@ -0,0 +1,19 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.restaurant-cache")
+public class RestaurantCacheConfigData {
+    // * maximum number of restaurants kept in memory
+    private Long maximumSize = 10_000L;
+    // * hard expiry: an entry older than this is never served
+    private Long expireAfterWriteMs = 600_000L;
+    // * refresh-ahead: the first read after this age reloads the entry in the background and keeps serving the old one
+    private Long refreshAfterWriteMs = 300_000L;
+    // * product ids remembered per restaurant; past this the entry only keeps the ids of the latest lookup
+    private Integer maximumTrackedProductIds = 1_000;
+}
@@ -0,0 +1,14 @@
+package com.chibao.edu.domain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "order-service.track-order-cache")
+public class TrackOrderCacheConfigData {
+    // * how long a tracking response is reused; 0 keeps request coalescing but disables the micro-cache
+    private Long ttlMs = 1_000L;
+    private Long maximumSize = 100_000L;
+}
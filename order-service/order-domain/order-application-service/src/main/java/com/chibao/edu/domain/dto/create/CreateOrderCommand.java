@@ -23,4 +23,6 @@ public class CreateOrderCommand {
     List<OrderItem> items;
     @NonNull
     OrderAddress address;
+    // ? optional, chosen by the client and reused for every retry of the same order
+    UUID idempotencyKey;
 }
@@ -0,0 +1,29 @@
+package com.chibao.edu.domain.dto.create;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+// ? Outcome of one command in a batch: either the created order response or the reason it was rejected.
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CreateOrderResult {
+    CreateOrderResponse createOrderResponse;
+    String failureMessage;
+
+    public static CreateOrderResult success(CreateOrderResponse createOrderResponse) {
+        return new CreateOrderResult(createOrderResponse, null);
+    }
+
+    public static CreateOrderResult failure(String failureMessage) {
+        return new CreateOrderResult(null, failureMessage);
+    }
+
+    public boolean isSuccess() {
+        return createOrderResponse != null;
+    }
+}
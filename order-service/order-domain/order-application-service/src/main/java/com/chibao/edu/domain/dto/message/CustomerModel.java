@@ -0,0 +1,18 @@
+package com.chibao.edu.domain.dto.message;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CustomerModel {
+    String id;
+    String username;
+    String firstName;
+    String lastName;
+}
@@ -0,0 +1,82 @@
+package com.chibao.edu.domain.idempotency;
+
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.config.IdempotencyConfigData;
+import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.ports.output.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// ? TTL'd store of create order responses by client idempotency key. A retry with a known key gets the original
+// * response back without validation or persistence. The key is remembered in the transaction that creates the
+// * order, so when two requests with the same key race, the loser's insert fails, its order is rolled back, and
+// * it can replay the winner's response.
+@Slf4j
+@Component
+public class IdempotencyKeyStore {
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final DomainClock domainClock;
+    private final Duration ttl;
+
+    public IdempotencyKeyStore(IdempotencyKeyRepository idempotencyKeyRepository, DomainClock domainClock,
+                               IdempotencyConfigData idempotencyConfigData) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.domainClock = domainClock;
+        this.ttl = Duration.ofMillis(idempotencyConfigData.getTtlMs());
+    }
+
+    public Optional<CreateOrderResponse> find(UUID idempotencyKey) {
+        return idempotencyKeyRepository.findResponse(idempotencyKey, domainClock.instant());
+    }
+
+    public Map<UUID, CreateOrderResponse> findAll(Collection<UUID> idempotencyKeys) {
+        if (idempotencyKeys.isEmpty()) {
+            return Map.of();
+        }
+        return idempotencyKeyRepository.findResponses(idempotencyKeys, domainClock.instant());
+    }
+
+    // ? throws when the key is already taken, which rolls back the caller's transaction
+    @Transactional
+    public void remember(UUID idempotencyKey, CreateOrderResponse createOrderResponse) {
+        Instant now = domainClock.instant();
+        if (!idempotencyKeyRepository.save(idempotencyKey, createOrderResponse, now, now.plus(ttl))) {
+            log.warn("Idempotency key: {} is already used by another request", idempotencyKey);
+            throw new OrderDomainException("Idempotency key: " + idempotencyKey + " is already used!");
+        }
+    }
+
+    // ? Takes every key that is still free and returns the ones already used by another request. Nothing is thrown,
+    // * so a batch drops only the commands whose key is taken and keeps the rest of its transaction.
+    @Transactional
+    public Set<UUID> rememberAll(Map<UUID, CreateOrderResponse> createOrderResponses) {
+        Instant now = domainClock.instant();
+        Set<UUID> takenKeys = new HashSet<>();
+        createOrderResponses.forEach((idempotencyKey, createOrderResponse) -> {
+            if (!idempotencyKeyRepository.save(idempotencyKey, createOrderResponse, now, now.plus(ttl))) {
+                log.warn("Idempotency key: {} is already used by another request", idempotencyKey);
+                takenKeys.add(idempotencyKey);
+            }
+        });
+        return takenKeys;
+    }
+
+    @Scheduled(cron = "${order-service.idempotency-cleaner-cron:0 0 * * * *}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(domainClock.instant());
+        log.info("{} expired idempotency keys are deleted", deleted);
+    }
+}
@@ -0,0 +1,130 @@
+package com.chibao.edu.domain.limiter;
+
+import com.chibao.edu.domain.config.ConcurrencyLimitConfigData;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// ? Adaptive concurrency limit with additive increase / multiplicative decrease. A call is admitted only while fewer
+// * than limit calls are in flight, otherwise it is rejected at once instead of queueing on connections and buffers.
+// * Every fast call grows the limit by 1/limit (about +1 per full window) while the limit is actually used. A call
+// * slower than the latency threshold, or failing with a transient storage error, multiplies it by backoffRatio, at
+// * most once per window: calls that were already in flight at the last decrease report the same congestion and do
+// * not decrease it again. The limit stays within [minLimit, maxLimit].
+public class AimdConcurrencyLimiter {
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    // ? numbers admitted calls, so a sample can tell whether its call started after the last decrease
+    private final AtomicLong callSequence = new AtomicLong();
+    // ? written under the monitor, read without it
+    private volatile double limit;
+    // * guarded by the monitor
+    private long lastBackoffSequence;
+
+    public AimdConcurrencyLimiter(String name, ConcurrencyLimitConfigData.Limit config) {
+        this.name = name;
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.backoffRatio = config.getBackoffRatio();
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMs());
+        this.limit = Math.max(minLimit, Math.min(maxLimit, config.getInitialLimit()));
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        return execute(1, action);
+    }
+
+    // ? A call that does the work of several calls (a batch) takes several permits. They are capped at the current
+    // * limit, so an oversized call is still admitted once nothing else is in flight. Its latency threshold and its
+    // * share of the growth scale with the permits it holds.
+    public <T> T execute(int permits, Supplier<T> action) {
+        Permit permit = acquire(Math.max(1, permits));
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            dropped = isCongestionSignal(e);
+            throw e;
+        } finally {
+            inFlight.addAndGet(-permit.permits());
+            onSample(System.nanoTime() - start, permit, dropped);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    // TODO Helpers
+    private Permit acquire(int requestedPermits) {
+        while (true) {
+            int current = inFlight.get();
+            int currentLimit = (int) limit;
+            int permits = Math.min(requestedPermits, currentLimit);
+            if (current + permits > currentLimit) {
+                rejectedCount.increment();
+                throw new OrderServiceOverloadedException(name + " is overloaded, " + current
+                        + " calls in flight with limit " + currentLimit + ", retry later!");
+            }
+            if (inFlight.compareAndSet(current, current + permits)) {
+                acceptedCount.increment();
+                return new Permit(permits, current + permits, callSequence.incrementAndGet());
+            }
+        }
+    }
+
+    private synchronized void onSample(long latencyNanos, Permit permit, boolean dropped) {
+        if (dropped) {
+            droppedCount.increment();
+        }
+        if (dropped || latencyNanos > latencyThresholdNanos * permit.permits()) {
+            if (permit.sequence() > lastBackoffSequence) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastBackoffSequence = callSequence.get();
+            }
+        } else if (permit.inFlightAtStart() * 2 >= limit) {
+            // ? only grow when at least half of the limit is in use, an idle service says nothing about capacity
+            limit = Math.min(maxLimit, limit + permit.permits() / limit);
+        }
+    }
+
+    private static boolean isCongestionSignal(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof DataAccessResourceFailureException;
+    }
+
+    private record Permit(int permits, int inFlightAtStart, long sequence) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.chibao.edu.domain.limiter;
+
+import com.chibao.edu.domain.config.RateLimitConfigData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// ? Token bucket per id of one dimension (customers or restaurants). Buckets live in a size-bounded cache that drops
+// * them after idleEvictionMs without access, which is safe because an idle bucket would have refilled anyway.
+// * Each id is on its configured tier or on the default tier.
+public class KeyedRateLimiter {
+    private final String name;
+    private final Map<String, TierLimit> tierLimits;
+    private final TierLimit defaultTierLimit;
+    private final Map<UUID, String> assignments;
+    private final Cache<UUID, TokenBucket> buckets;
+    private final Map<String, LongAdder> allowedCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejectedCounts = new ConcurrentHashMap<>();
+
+    public KeyedRateLimiter(String name, RateLimitConfigData.Dimension config) {
+        this.name = name;
+        this.tierLimits = config.getTiers().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        entry -> new TierLimit(entry.getKey(), entry.getValue())));
+        this.defaultTierLimit = tierLimits.get(config.getDefaultTier());
+        if (defaultTierLimit == null) {
+            throw new IllegalStateException("Default rate limit tier: " + config.getDefaultTier()
+                    + " of " + name + " is not configured!");
+        }
+        this.assignments = Map.copyOf(config.getAssignments());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumKeys())
+                .expireAfterAccess(Duration.ofMillis(config.getIdleEvictionMs()))
+                .build();
+        tierLimits.keySet().forEach(tier -> {
+            allowedCounts.put(tier, new LongAdder());
+            rejectedCounts.put(tier, new LongAdder());
+        });
+    }
+
+    public boolean tryAcquire(UUID id) {
+        TierLimit tierLimit = tierLimits.getOrDefault(assignments.get(id), defaultTierLimit);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(id, key -> new TokenBucket(now));
+        boolean allowed = bucket.tryAcquire(now, tierLimit.emissionIntervalNanos, tierLimit.burstToleranceNanos);
+        (allowed ? allowedCounts : rejectedCounts).get(tierLimit.tier).increment();
+        return allowed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getActiveBuckets() {
+        return buckets.estimatedSize();
+    }
+
+    public Map<String, Long> getAllowedCounts() {
+        return sums(allowedCounts);
+    }
+
+    public Map<String, Long> getRejectedCounts() {
+        return sums(rejectedCounts);
+    }
+
+    // TODO Helpers
+    private static Map<String, Long> sums(Map<String, LongAdder> counts) {
+        return counts.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    private static final class TierLimit {
+        private final String tier;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        private TierLimit(String tier, RateLimitConfigData.Tier config) {
+            this.tier = tier;
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond());
+            this.burstToleranceNanos = emissionIntervalNanos * config.getBurst();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.chibao.edu.domain.limiter;
+
+import com.chibao.edu.domain.config.ConcurrencyLimitConfigData;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+// ? One limiter per kind of work. Tracking reads get their own limit, so a burst of polling clients can only use
+// * up the tracking permits and never the permits of order creation.
+@Getter
+@Component
+public class OrderAdmissionControl {
+    private final AimdConcurrencyLimiter createOrderLimiter;
+    private final AimdConcurrencyLimiter trackOrderLimiter;
+    @Getter(AccessLevel.NONE)
+    private final int ordersPerBatchPermit;
+
+    public OrderAdmissionControl(ConcurrencyLimitConfigData concurrencyLimitConfigData) {
+        this.createOrderLimiter = new AimdConcurrencyLimiter("createOrder", concurrencyLimitConfigData.getCreateOrder());
+        this.trackOrderLimiter = new AimdConcurrencyLimiter("trackOrder", concurrencyLimitConfigData.getTrackOrder());
+        this.ordersPerBatchPermit = Math.max(1, concurrencyLimitConfigData.getOrdersPerBatchPermit());
+    }
+
+    // ? createOrder permits a batch of the given size takes, so large batches cannot bypass the limit
+    public int batchPermits(int batchSize) {
+        return Math.max(1, (batchSize + ordersPerBatchPermit - 1) / ordersPerBatchPermit);
+    }
+}
@@ -0,0 +1,8 @@
+package com.chibao.edu.domain.limiter;
+
+// ? Thrown when a customer or restaurant exceeds its tier's request rate (e.g. map it to 429).
+public class OrderRateLimitedException extends RuntimeException {
+    public OrderRateLimitedException(String message) {
+        super(message);
+    }
+}
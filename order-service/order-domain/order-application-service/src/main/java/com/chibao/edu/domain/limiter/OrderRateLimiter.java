@@ -0,0 +1,41 @@
+package com.chibao.edu.domain.limiter;
+
+import com.chibao.edu.domain.config.RateLimitConfigData;
+import com.chibao.edu.domain.dto.create.CreateOrderCommand;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// ? Per-customer and per-restaurant rate limits for order creation, so one misbehaving client or restaurant
+// * integration cannot take all of the createOrder capacity. The customer token is taken first; a command rejected
+// * by the restaurant limit has still used it. While disabled every command is allowed.
+@Slf4j
+@Getter
+@Component
+public class OrderRateLimiter {
+    private final boolean enabled;
+    private final KeyedRateLimiter customerRateLimiter;
+    private final KeyedRateLimiter restaurantRateLimiter;
+
+    public OrderRateLimiter(RateLimitConfigData rateLimitConfigData) {
+        this.enabled = Boolean.TRUE.equals(rateLimitConfigData.getEnabled());
+        this.customerRateLimiter = new KeyedRateLimiter("customer", rateLimitConfigData.getCustomer());
+        this.restaurantRateLimiter = new KeyedRateLimiter("restaurant", rateLimitConfigData.getRestaurant());
+    }
+
+    public void checkRateLimit(CreateOrderCommand createOrderCommand) {
+        if (!enabled) {
+            return;
+        }
+        if (!customerRateLimiter.tryAcquire(createOrderCommand.getCustomerId())) {
+            log.warn("Customer with id: {} is rate limited", createOrderCommand.getCustomerId());
+            throw new OrderRateLimitedException("Too many orders for customer with id: "
+                    + createOrderCommand.getCustomerId() + ", retry later!");
+        }
+        if (!restaurantRateLimiter.tryAcquire(createOrderCommand.getRestaurantId())) {
+            log.warn("Restaurant with id: {} is rate limited", createOrderCommand.getRestaurantId());
+            throw new OrderRateLimitedException("Too many orders for restaurant with id: "
+                    + createOrderCommand.getRestaurantId() + ", retry later!");
+        }
+    }
+}
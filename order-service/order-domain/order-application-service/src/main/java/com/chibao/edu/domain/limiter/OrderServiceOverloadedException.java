@@ -0,0 +1,9 @@
+package com.chibao.edu.domain.limiter;
+
+// ? Thrown when a call is shed by a concurrency limiter. Deliberately not a DomainException: the request was valid,
+// * the caller should back off and retry (e.g. map it to 503 with Retry-After).
+public class OrderServiceOverloadedException extends RuntimeException {
+    public OrderServiceOverloadedException(String message) {
+        super(message);
+    }
+}
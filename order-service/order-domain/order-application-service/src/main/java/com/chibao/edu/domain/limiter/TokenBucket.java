@@ -0,0 +1,29 @@
+package com.chibao.edu.domain.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// ? Token bucket in the GCRA form: the whole state is one "theoretical arrival time" in a single AtomicLong, so
+// * taking a token is one CAS and refill is implicit in the clock (nothing runs while a bucket is idle).
+// * A request is allowed when tat - now stays within burst * interval after adding one interval.
+final class TokenBucket {
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(long nowNanos) {
+        // ? a new bucket starts full
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire(long nowNanos, long emissionIntervalNanos, long burstToleranceNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long tat = Math.max(current, nowNanos);
+            long next = tat + emissionIntervalNanos;
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -8,14 +8,28 @@ import com.chibao.edu.domain.entity.Order;
 import com.chibao.edu.domain.entity.OrderItem;
 import com.chibao.edu.domain.entity.Product;
 import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.event.OrderCancelledEvent;
+import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.event.OrderPaidEvent;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalEventPayload;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalEventProduct;
+import com.chibao.edu.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.chibao.edu.domain.projection.OrderTrackingProjection;
 import com.chibao.edu.domain.value_object.*;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderDataMapper {
+    IdGenerator idGenerator;
+
     public Restaurant createOrderCommandToRestaurant(CreateOrderCommand createOrderCommand) {
         return Restaurant.builder()
                 .id(new RestaurantId(createOrderCommand.getRestaurantId()))
@@ -24,6 +38,19 @@ public class OrderDataMapper {
                 .build();
     }
 
+    // ? one restaurant lookup for several commands of the same restaurant, asking for the union of their products
+    public Restaurant createOrderCommandsToRestaurant(List<CreateOrderCommand> createOrderCommands) {
+        return Restaurant.builder()
+                .id(new RestaurantId(createOrderCommands.get(0).getRestaurantId()))
+                .products(createOrderCommands.stream()
+                        .flatMap(createOrderCommand -> createOrderCommand.getItems().stream())
+                        .map(com.chibao.edu.domain.dto.create.OrderItem::getProductId)
+                        .distinct()
+                        .map(productId -> new Product(new ProductId(productId)))
+                        .toList())
+                .build();
+    }
+
     public Order createOrderCommandToOrder(CreateOrderCommand createOrderCommand) {
         return Order.builder()
                 .customerId(new CustomerId(createOrderCommand.getCustomerId()))
@@ -49,7 +76,7 @@ public class OrderDataMapper {
 
     private StreetAddress orderAddressToStreetAddress(OrderAddress orderAddress) {
         return new StreetAddress(
-                UUID.randomUUID(),
+                idGenerator.generate(),
                 orderAddress.getStreet(),
                 orderAddress.getPostalCode(),
                 orderAddress.getCity()
@@ -64,6 +91,23 @@ public class OrderDataMapper {
                 .build();
     }
 
+    public OrderTrackingProjection orderToOrderTrackingProjection(Order order) {
+        return OrderTrackingProjection.builder()
+                .trackingId(order.getTrackingId().getValue())
+                .orderId(order.getId().getValue())
+                .orderStatus(order.getOrderStatus())
+                .failureMessages(order.getFailureMessages() == null ? List.of() : List.copyOf(order.getFailureMessages()))
+                .build();
+    }
+
+    public TrackOrderResponse orderTrackingProjectionToTrackOrderResponse(OrderTrackingProjection orderTrackingProjection) {
+        return TrackOrderResponse.builder()
+                .orderTrackingId(orderTrackingProjection.getTrackingId())
+                .orderStatus(orderTrackingProjection.getOrderStatus())
+                .failureMessages(orderTrackingProjection.getFailureMessages())
+                .build();
+    }
+
     public TrackOrderResponse orderToTrackOrderResponse(Order order){
         return TrackOrderResponse.builder()
                 .orderTrackingId(order.getTrackingId().getValue())
@@ -71,4 +115,43 @@ public class OrderDataMapper {
                 .failureMessages(order.getFailureMessages())
                 .build();
     }
+
+    public OrderPaymentEventPayload orderCreatedEventToOrderPaymentEventPayload(OrderCreatedEvent orderCreatedEvent) {
+        Order order = orderCreatedEvent.getOrder();
+        return OrderPaymentEventPayload.builder()
+                .orderId(order.getId().getValue().toString())
+                .customerId(order.getCustomerId().getValue().toString())
+                .price(order.getPrice().getAmount())
+                .createdAt(orderCreatedEvent.getCreatedAt())
+                .paymentOrderStatus(PaymentOrderStatus.PENDING.name())
+                .build();
+    }
+
+    public OrderPaymentEventPayload orderCancelledEventToOrderPaymentEventPayload(OrderCancelledEvent orderCancelledEvent) {
+        Order order = orderCancelledEvent.getOrder();
+        return OrderPaymentEventPayload.builder()
+                .orderId(order.getId().getValue().toString())
+                .customerId(order.getCustomerId().getValue().toString())
+                .price(order.getPrice().getAmount())
+                .createdAt(orderCancelledEvent.getCreatedAt())
+                .paymentOrderStatus(PaymentOrderStatus.CANCELLED.name())
+                .build();
+    }
+
+    public OrderApprovalEventPayload orderPaidEventToOrderApprovalEventPayload(OrderPaidEvent orderPaidEvent) {
+        Order order = orderPaidEvent.getOrder();
+        return OrderApprovalEventPayload.builder()
+                .orderId(order.getId().getValue().toString())
+                .restaurantId(order.getRestaurantId().getValue().toString())
+                .price(order.getPrice().getAmount())
+                .createdAt(orderPaidEvent.getCreatedAt())
+                .restaurantOrderStatus(order.getOrderStatus().name())
+                .products(order.getItems().stream()
+                        .map(orderItem -> OrderApprovalEventProduct.builder()
+                                .id(orderItem.getProduct().getId().getValue().toString())
+                                .quantity(orderItem.getQuantity())
+                                .build())
+                        .toList())
+                .build();
+    }
 }
@@ -0,0 +1,108 @@
+package com.chibao.edu.domain.metrics;
+
+import com.chibao.edu.domain.exception.OrderNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// ? Timers of the order pipeline. Every tag has a fixed, small set of values, and all timers are registered up front
+// * so the hot path never looks a meter up. Without a MeterRegistry bean an empty composite registry is used,
+// * which records nothing.
+@Component
+public class OrderMetrics {
+    public static final String ORDER_CREATE = "order.create";
+    public static final String ORDER_CREATE_STEP = "order.create.step";
+    public static final String ORDER_TRACK = "order.track";
+
+    public enum Mode { SINGLE, BATCH }
+
+    public enum Step { CUSTOMER_CHECK, RESTAURANT_CHECK, VALIDATION, SAVE }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Mode, Map<Step, Timer>> stepTimers = new EnumMap<>(Mode.class);
+    private final Map<Mode, Timer> createSuccessTimers = new EnumMap<>(Mode.class);
+    private final Map<Mode, Timer> createFailureTimers = new EnumMap<>(Mode.class);
+    private final Timer trackSuccessTimer;
+    private final Timer trackNotFoundTimer;
+    private final Timer trackFailureTimer;
+
+    public OrderMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(CompositeMeterRegistry::new);
+        for (Mode mode : Mode.values()) {
+            Map<Step, Timer> timers = new EnumMap<>(Step.class);
+            for (Step step : Step.values()) {
+                timers.put(step, Timer.builder(ORDER_CREATE_STEP)
+                        .tag("mode", tagValue(mode))
+                        .tag("step", tagValue(step))
+                        .register(meterRegistry));
+            }
+            stepTimers.put(mode, timers);
+            createSuccessTimers.put(mode, createTimer(mode, "success"));
+            createFailureTimers.put(mode, createTimer(mode, "failure"));
+        }
+        this.trackSuccessTimer = trackTimer("success");
+        this.trackNotFoundTimer = trackTimer("not_found");
+        this.trackFailureTimer = trackTimer("failure");
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    public <T> T recordStep(Mode mode, Step step, Supplier<T> supplier) {
+        return stepTimers.get(mode).get(step).record(supplier);
+    }
+
+    public void recordStep(Mode mode, Step step, Runnable runnable) {
+        stepTimers.get(mode).get(step).record(runnable);
+    }
+
+    public Timer.Sample startCreate() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopCreate(Timer.Sample sample, Mode mode, boolean success) {
+        sample.stop(success ? createSuccessTimers.get(mode) : createFailureTimers.get(mode));
+    }
+
+    public <T> T recordTrack(Supplier<T> supplier) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer timer = trackFailureTimer;
+        try {
+            T result = supplier.get();
+            timer = trackSuccessTimer;
+            return result;
+        } catch (OrderNotFoundException e) {
+            timer = trackNotFoundTimer;
+            throw e;
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    // TODO Helpers
+    private Timer createTimer(Mode mode, String outcome) {
+        return Timer.builder(ORDER_CREATE)
+                .tag("mode", tagValue(mode))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer trackTimer(String outcome) {
+        return Timer.builder(ORDER_TRACK)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
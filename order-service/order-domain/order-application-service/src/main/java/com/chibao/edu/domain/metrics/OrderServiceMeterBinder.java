@@ -0,0 +1,157 @@
+package com.chibao.edu.domain.metrics;
+
+import com.chibao.edu.domain.cache.CachingRestaurantRepository;
+import com.chibao.edu.domain.cache.CustomerExistenceFilter;
+import com.chibao.edu.domain.cache.TrackOrderCache;
+import com.chibao.edu.domain.limiter.AimdConcurrencyLimiter;
+import com.chibao.edu.domain.limiter.KeyedRateLimiter;
+import com.chibao.edu.domain.limiter.OrderAdmissionControl;
+import com.chibao.edu.domain.limiter.OrderRateLimiter;
+import com.chibao.edu.domain.outbox.scheduler.approval.ApprovalOutboxRelay;
+import com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxRelay;
+import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
+import com.chibao.edu.domain.state_machine.OrderStateMachine;
+import com.chibao.edu.domain.value_object.OrderStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// ? Exposes the counters the components already keep (state machine, limiters, caches, customer filter, outbox relays)
+// * as meters. They are read when the registry is scraped, nothing is added to the hot paths.
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderServiceMeterBinder {
+    OrderMetrics orderMetrics;
+    OrderAdmissionControl orderAdmissionControl;
+    OrderRateLimiter orderRateLimiter;
+    TrackOrderCache trackOrderCache;
+    // * the caching decorator once CachingRestaurantRepositoryPostProcessor has wrapped the storage adapter
+    RestaurantRepository restaurantRepository;
+    CustomerExistenceFilter customerExistenceFilter;
+    PaymentOutboxRelay paymentOutboxRelay;
+    ApprovalOutboxRelay approvalOutboxRelay;
+
+    @PostConstruct
+    public void bind() {
+        MeterRegistry registry = orderMetrics.getMeterRegistry();
+        bindStateMachine(registry);
+        bindConcurrencyLimiter(registry, orderAdmissionControl.getCreateOrderLimiter());
+        bindConcurrencyLimiter(registry, orderAdmissionControl.getTrackOrderLimiter());
+        bindRateLimiter(registry, orderRateLimiter.getCustomerRateLimiter());
+        bindRateLimiter(registry, orderRateLimiter.getRestaurantRateLimiter());
+
+        counter(registry, "order.track.cache", trackOrderCache, TrackOrderCache::getHitCount, "result", "hit");
+        counter(registry, "order.track.cache", trackOrderCache, TrackOrderCache::getCoalescedCount, "result", "coalesced");
+        counter(registry, "order.track.cache", trackOrderCache, TrackOrderCache::getLoadCount, "result", "load");
+
+        if (restaurantRepository instanceof CachingRestaurantRepository restaurantCache) {
+            bindRestaurantCache(registry, restaurantCache);
+        }
+
+        counter(registry, "order.customer.filter", customerExistenceFilter,
+                CustomerExistenceFilter::getDefiniteMissCount, "result", "definite_miss");
+        counter(registry, "order.customer.filter", customerExistenceFilter,
+                CustomerExistenceFilter::getFalsePositiveCount, "result", "false_positive");
+        counter(registry, "order.customer.filter", customerExistenceFilter,
+                CustomerExistenceFilter::getPositiveCacheHitCount, "result", "positive_cache_hit");
+        Gauge.builder("order.customer.filter.false_positive_rate", customerExistenceFilter,
+                CustomerExistenceFilter::getExpectedFalsePositiveRate).register(registry);
+        Gauge.builder("order.customer.filter.memory", customerExistenceFilter, CustomerExistenceFilter::getMemoryBytes)
+                .baseUnit("bytes").register(registry);
+
+        Gauge.builder("order.outbox.backlog", paymentOutboxRelay, PaymentOutboxRelay::getBacklogSize)
+                .tag("outbox", "payment").register(registry);
+        Gauge.builder("order.outbox.lag", paymentOutboxRelay, PaymentOutboxRelay::getRelayLagMs)
+                .tag("outbox", "payment").baseUnit("milliseconds").register(registry);
+        counter(registry, "order.outbox.relayed", paymentOutboxRelay, PaymentOutboxRelay::getRelayedCount,
+                "outbox", "payment", "outcome", "completed");
+        counter(registry, "order.outbox.relayed", paymentOutboxRelay, PaymentOutboxRelay::getFailedCount,
+                "outbox", "payment", "outcome", "failed");
+        counter(registry, "order.outbox.relayed", paymentOutboxRelay, PaymentOutboxRelay::getUnackedCount,
+                "outbox", "payment", "outcome", "unacked");
+        // * alert on any increase: a parked row is never sent without an operator
+        counter(registry, "order.outbox.relayed", paymentOutboxRelay, PaymentOutboxRelay::getParkedCount,
+                "outbox", "payment", "outcome", "parked");
+
+        Gauge.builder("order.outbox.backlog", approvalOutboxRelay, ApprovalOutboxRelay::getBacklogSize)
+                .tag("outbox", "approval").register(registry);
+        Gauge.builder("order.outbox.lag", approvalOutboxRelay, ApprovalOutboxRelay::getRelayLagMs)
+                .tag("outbox", "approval").baseUnit("milliseconds").register(registry);
+        counter(registry, "order.outbox.relayed", approvalOutboxRelay, ApprovalOutboxRelay::getRelayedCount,
+                "outbox", "approval", "outcome", "completed");
+        counter(registry, "order.outbox.relayed", approvalOutboxRelay, ApprovalOutboxRelay::getFailedCount,
+                "outbox", "approval", "outcome", "failed");
+        counter(registry, "order.outbox.relayed", approvalOutboxRelay, ApprovalOutboxRelay::getUnackedCount,
+                "outbox", "approval", "outcome", "unacked");
+        counter(registry, "order.outbox.relayed", approvalOutboxRelay, ApprovalOutboxRelay::getParkedCount,
+                "outbox", "approval", "outcome", "parked");
+    }
+
+    // TODO Helpers
+    private void bindStateMachine(MeterRegistry registry) {
+        for (OrderStatus from : OrderStatus.values()) {
+            for (OrderStatus to : OrderStatus.values()) {
+                if (OrderStateMachine.canTransition(from, to)) {
+                    counter(registry, "order.state.transition", from,
+                            status -> OrderStateMachine.allowedCount(status, to),
+                            "from", OrderMetrics.tagValue(from), "to", OrderMetrics.tagValue(to), "result", "allowed");
+                }
+                counter(registry, "order.state.transition", from,
+                        status -> OrderStateMachine.rejectedCount(status, to),
+                        "from", OrderMetrics.tagValue(from), "to", OrderMetrics.tagValue(to), "result", "rejected");
+            }
+        }
+    }
+
+    private void bindRestaurantCache(MeterRegistry registry, CachingRestaurantRepository restaurantCache) {
+        Gauge.builder("order.restaurant.cache.size", restaurantCache, CachingRestaurantRepository::getSize)
+                .register(registry);
+        counter(registry, "order.restaurant.cache", restaurantCache, CachingRestaurantRepository::getHitCount,
+                "result", "hit");
+        counter(registry, "order.restaurant.cache", restaurantCache, CachingRestaurantRepository::getCoalescedCount,
+                "result", "coalesced");
+        counter(registry, "order.restaurant.cache", restaurantCache, CachingRestaurantRepository::getMissCount,
+                "result", "miss");
+        counter(registry, "order.restaurant.cache.evictions", restaurantCache,
+                CachingRestaurantRepository::getEvictionCount);
+    }
+
+    private void bindConcurrencyLimiter(MeterRegistry registry, AimdConcurrencyLimiter limiter) {
+        Gauge.builder("order.limiter.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                .tag("limiter", limiter.getName()).register(registry);
+        Gauge.builder("order.limiter.in_flight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .tag("limiter", limiter.getName()).register(registry);
+        counter(registry, "order.limiter.calls", limiter, AimdConcurrencyLimiter::getAcceptedCount,
+                "limiter", limiter.getName(), "outcome", "accepted");
+        counter(registry, "order.limiter.calls", limiter, AimdConcurrencyLimiter::getRejectedCount,
+                "limiter", limiter.getName(), "outcome", "rejected");
+        counter(registry, "order.limiter.calls", limiter, AimdConcurrencyLimiter::getDroppedCount,
+                "limiter", limiter.getName(), "outcome", "dropped");
+    }
+
+    private void bindRateLimiter(MeterRegistry registry, KeyedRateLimiter limiter) {
+        Gauge.builder("order.rate_limit.buckets", limiter, KeyedRateLimiter::getActiveBuckets)
+                .tag("dimension", limiter.getName()).register(registry);
+        limiter.getAllowedCounts().keySet().forEach(tier -> {
+            counter(registry, "order.rate_limit.requests", limiter,
+                    rateLimiter -> rateLimiter.getAllowedCounts().get(tier),
+                    "dimension", limiter.getName(), "tier", tier, "outcome", "allowed");
+            counter(registry, "order.rate_limit.requests", limiter,
+                    rateLimiter -> rateLimiter.getRejectedCounts().get(tier),
+                    "dimension", limiter.getName(), "tier", tier, "outcome", "rejected");
+        });
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T target, ToDoubleFunction<T> count,
+                                    String... tags) {
+        FunctionCounter.builder(name, target, count).tags(tags).register(registry);
+    }
+}
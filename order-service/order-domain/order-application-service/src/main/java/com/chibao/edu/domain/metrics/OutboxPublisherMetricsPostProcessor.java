@@ -0,0 +1,100 @@
+package com.chibao.edu.domain.metrics;
+
+import com.chibao.edu.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
+import com.chibao.edu.domain.ports.output.message.publisher.restaurant_approval.RestaurantApprovalRequestMessagePublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ? Times publishAsync and publishAllAsync of the outbox publisher beans (PaymentRequestMessagePublisher and
+// * RestaurantApprovalRequestMessagePublisher) by wrapping them in an interface proxy, so each adapter is measured
+// * the same way without touching it. A publish is timed until its receipt completes, a batch until every row's
+// * receipt did; a batch with any failed row counts as a failure.
+// * Tags are the publisher port, the method and the outcome.
+// * The registry is resolved on first use because post processors are created before most other beans.
+@Component
+public class OutboxPublisherMetricsPostProcessor implements BeanPostProcessor {
+    public static final String OUTBOX_PUBLISH = "order.outbox.publish";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public OutboxPublisherMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String publisher;
+        if (bean instanceof PaymentRequestMessagePublisher) {
+            publisher = PaymentRequestMessagePublisher.class.getSimpleName();
+        } else if (bean instanceof RestaurantApprovalRequestMessagePublisher) {
+            publisher = RestaurantApprovalRequestMessagePublisher.class.getSimpleName();
+        } else {
+            return bean;
+        }
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(bean.getClass());
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(bean, args);
+            }
+            Timer.Sample sample = Timer.start(registry());
+            Object result;
+            try {
+                result = method.invoke(bean, args);
+            } catch (InvocationTargetException e) {
+                sample.stop(timer(publisher, method.getName(), "failure"));
+                throw e.getTargetException();
+            }
+            CompletableFuture<?> completion = completionOf(result);
+            if (completion == null) {
+                sample.stop(timer(publisher, method.getName(), "success"));
+            } else {
+                completion.whenComplete((ignored, e) ->
+                        sample.stop(timer(publisher, method.getName(), e == null ? "success" : "failure")));
+            }
+            return result;
+        });
+    }
+
+    // TODO Helpers
+    // ? a single receipt, or all receipts of a batch; null when the method does not publish asynchronously
+    private static CompletableFuture<?> completionOf(Object result) {
+        if (result instanceof CompletableFuture<?> future) {
+            return future;
+        }
+        if (result instanceof List<?> list && list.stream().allMatch(CompletableFuture.class::isInstance)) {
+            return CompletableFuture.allOf(list.toArray(CompletableFuture[]::new));
+        }
+        return null;
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getIfAvailable(CompositeMeterRegistry::new);
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    private Timer timer(String publisher, String method, String outcome) {
+        return timers.computeIfAbsent(publisher + '.' + method + '.' + outcome, key -> Timer.builder(OUTBOX_PUBLISH)
+                .tag("publisher", publisher)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(registry()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.chibao.edu.domain.outbox.model;
+
+import com.chibao.edu.domain.exception.OrderDomainException;
+
+// ? the payload of an outbox row cannot be turned into a request; retrying cannot help, so the row is parked
+public class OutboxPayloadException extends OrderDomainException {
+
+    public OutboxPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
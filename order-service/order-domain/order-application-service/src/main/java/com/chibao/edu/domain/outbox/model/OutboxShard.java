@@ -0,0 +1,17 @@
+package com.chibao.edu.domain.outbox.model;
+
+import java.util.UUID;
+
+// ? The one shard function every outbox adapter must use: the low 32 bits of the order id, unsigned, modulo
+// * shardCount. UUIDv7 keeps those bits random. SQL_SHARD_KEY computes the same unsigned value in Postgres.
+public final class OutboxShard {
+    public static final String SQL_SHARD_KEY =
+            "('x' || lpad(right(replace(p.order_id::text, '-', ''), 8), 16, '0'))::bit(64)::bigint";
+
+    private OutboxShard() {
+    }
+
+    public static int shardOf(UUID orderId, int shardCount) {
+        return (int) ((orderId.getLeastSignificantBits() & 0xFFFFFFFFL) % shardCount);
+    }
+}
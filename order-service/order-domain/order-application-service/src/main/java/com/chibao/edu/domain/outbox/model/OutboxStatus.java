@@ -0,0 +1,8 @@
+package com.chibao.edu.domain.outbox.model;
+
+public enum OutboxStatus {
+    STARTED, COMPLETED, FAILED,
+    // ? terminal: the row can never be sent (its payload cannot be read into a request), so it is not claimed again
+    // * and no longer holds back the later rows of its order; it is kept for an operator to inspect
+    PARKED
+}
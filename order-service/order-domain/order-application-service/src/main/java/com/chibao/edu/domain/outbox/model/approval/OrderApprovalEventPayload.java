@@ -0,0 +1,34 @@
+package com.chibao.edu.domain.outbox.model.approval;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+// ? JSON payload of a restaurant approval request outbox row; everything the relay needs to build the Avro record
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderApprovalEventPayload {
+    @JsonProperty
+    String orderId;
+    @JsonProperty
+    String restaurantId;
+    @JsonProperty
+    BigDecimal price;
+    @JsonProperty
+    Instant createdAt;
+    @JsonProperty
+    String restaurantOrderStatus;
+    @JsonProperty
+    List<OrderApprovalEventProduct> products;
+}
@@ -0,0 +1,21 @@
+package com.chibao.edu.domain.outbox.model.approval;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderApprovalEventProduct {
+    @JsonProperty
+    String id;
+    @JsonProperty
+    Integer quantity;
+}
@@ -0,0 +1,34 @@
+package com.chibao.edu.domain.outbox.model.approval;
+
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.value_object.OrderStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// ? One row of the restaurant approval outbox table, written in the same transaction as the paid order
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderApprovalOutboxMessage {
+    UUID id;
+    UUID sagaId;
+    UUID orderId;
+    Instant createdAt;
+    Instant processedAt;
+    String type;
+    String payload;
+    OrderStatus orderStatus;
+    OutboxStatus outboxStatus;
+    // * set while a relay owns the row; an expired lease makes the row claimable again
+    Instant leaseUntil;
+    int version;
+}
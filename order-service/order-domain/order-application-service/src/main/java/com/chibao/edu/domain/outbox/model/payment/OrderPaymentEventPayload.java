@@ -0,0 +1,31 @@
+package com.chibao.edu.domain.outbox.model.payment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// ? JSON payload of a payment request outbox row; everything the relay needs to build the Avro record
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderPaymentEventPayload {
+    @JsonProperty
+    String orderId;
+    @JsonProperty
+    String customerId;
+    @JsonProperty
+    BigDecimal price;
+    @JsonProperty
+    Instant createdAt;
+    @JsonProperty
+    String paymentOrderStatus;
+}
@@ -0,0 +1,94 @@
+package com.chibao.edu.domain.outbox.scheduler.approval;
+
+import com.chibao.edu.domain.event.OrderPaidEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.mapper.OrderDataMapper;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalEventPayload;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.chibao.edu.domain.ports.output.repository.ApprovalOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxHelper.ORDER_PAYMENT_SAGA_NAME;
+
+// ? Writes restaurant approval outbox rows. saveOrderPaidOutboxMessages must run in the payment saga's transaction,
+// * so a paid order and its approval request are committed (or rolled back) together. ApprovalOutboxRelay moves
+// * them on and records the broker's answer through markRelayed.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ApprovalOutboxHelper {
+    ApprovalOutboxRepository approvalOutboxRepository;
+    OrderDataMapper orderDataMapper;
+    IdGenerator idGenerator;
+    ObjectMapper objectMapper;
+
+    @Transactional
+    public void saveOrderPaidOutboxMessages(List<OrderPaidEvent> orderPaidEvents) {
+        if (orderPaidEvents.isEmpty()) {
+            return;
+        }
+        List<OrderApprovalOutboxMessage> orderApprovalOutboxMessages = orderPaidEvents.stream()
+                .map(this::orderPaidEventToOrderApprovalOutboxMessage)
+                .toList();
+        List<OrderApprovalOutboxMessage> saved = approvalOutboxRepository.saveAll(orderApprovalOutboxMessages);
+        if (saved == null || saved.size() != orderApprovalOutboxMessages.size()) {
+            throw new OrderDomainException("Could not save restaurant approval outbox messages in batch !");
+        }
+        log.info("{} restaurant approval outbox messages are saved in batch", saved.size());
+    }
+
+    @Transactional
+    public void markRelayed(Collection<UUID> completedIds, Collection<UUID> failedIds, Collection<UUID> parkedIds,
+                            Instant processedAt) {
+        if (!completedIds.isEmpty()) {
+            approvalOutboxRepository.updateOutboxStatus(completedIds, OutboxStatus.COMPLETED, processedAt);
+        }
+        if (!failedIds.isEmpty()) {
+            approvalOutboxRepository.updateOutboxStatus(failedIds, OutboxStatus.FAILED, processedAt);
+        }
+        if (!parkedIds.isEmpty()) {
+            approvalOutboxRepository.updateOutboxStatus(parkedIds, OutboxStatus.PARKED, processedAt);
+        }
+    }
+
+    // TODO Helpers
+    private OrderApprovalOutboxMessage orderPaidEventToOrderApprovalOutboxMessage(OrderPaidEvent orderPaidEvent) {
+        OrderApprovalEventPayload payload = orderDataMapper.orderPaidEventToOrderApprovalEventPayload(orderPaidEvent);
+        return OrderApprovalOutboxMessage.builder()
+                .id(idGenerator.generate())
+                // ? one saga per order, same as the payment outbox
+                .sagaId(orderPaidEvent.getOrder().getId().getValue())
+                .orderId(orderPaidEvent.getOrder().getId().getValue())
+                .createdAt(orderPaidEvent.getCreatedAt())
+                .type(ORDER_PAYMENT_SAGA_NAME)
+                .payload(createPayload(payload))
+                .orderStatus(orderPaidEvent.getOrder().getOrderStatus())
+                .outboxStatus(OutboxStatus.STARTED)
+                .build();
+    }
+
+    private String createPayload(OrderApprovalEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not create OrderApprovalEventPayload for order id: {}", payload.getOrderId(), e);
+            throw new OrderDomainException("Could not create OrderApprovalEventPayload for order id: "
+                    + payload.getOrderId(), e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.chibao.edu.domain.outbox.scheduler.approval;
+
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.config.OutboxRelayConfigData;
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.OutboxPayloadException;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.chibao.edu.domain.ports.output.message.publisher.restaurant_approval.RestaurantApprovalRequestMessagePublisher;
+import com.chibao.edu.domain.ports.output.repository.ApprovalOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxHelper.ORDER_PAYMENT_SAGA_NAME;
+
+// ? Relays one shard of the restaurant approval outbox per call, the same way PaymentOutboxRelay does:
+// * lease a batch, publish it outside any transaction, then mark the rows in a short transaction. Parked rows
+// * (unreadable payload) are logged as errors and counted for alerting.
+@Slf4j
+@Component
+public class ApprovalOutboxRelay {
+    private final ApprovalOutboxRepository approvalOutboxRepository;
+    private final ApprovalOutboxHelper approvalOutboxHelper;
+    private final RestaurantApprovalRequestMessagePublisher restaurantApprovalRequestMessagePublisher;
+    private final DomainClock domainClock;
+    private final int batchSize;
+    private final long ackTimeoutMs;
+    private final Duration lease;
+    private final LongAdder relayedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder unackedCount = new LongAdder();
+    private final LongAdder parkedCount = new LongAdder();
+    private volatile long backlogSize;
+    private volatile long relayLagMs;
+
+    public ApprovalOutboxRelay(ApprovalOutboxRepository approvalOutboxRepository,
+                               ApprovalOutboxHelper approvalOutboxHelper,
+                               RestaurantApprovalRequestMessagePublisher restaurantApprovalRequestMessagePublisher,
+                               DomainClock domainClock,
+                               OutboxRelayConfigData outboxRelayConfigData) {
+        this.approvalOutboxRepository = approvalOutboxRepository;
+        this.approvalOutboxHelper = approvalOutboxHelper;
+        this.restaurantApprovalRequestMessagePublisher = restaurantApprovalRequestMessagePublisher;
+        this.domainClock = domainClock;
+        this.batchSize = outboxRelayConfigData.getBatchSize();
+        this.ackTimeoutMs = outboxRelayConfigData.getAckTimeoutMs();
+        this.lease = Duration.ofMillis(outboxRelayConfigData.getLeaseMs());
+    }
+
+    // ? returns the number of rows the broker acknowledged
+    public int relayShard(int shard, int shardCount) {
+        Instant claimedAt = domainClock.instant();
+        List<OrderApprovalOutboxMessage> batch = approvalOutboxRepository.claimRelayBatch(
+                ORDER_PAYMENT_SAGA_NAME, shard, shardCount, batchSize, claimedAt, claimedAt.plus(lease));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<PublishReceipt>> receipts = List.of();
+        try {
+            receipts = restaurantApprovalRequestMessagePublisher.publishAllAsync(batch);
+            awaitReceipts(receipts, shard);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Approval relay of shard {} is interrupted while waiting for acks", shard);
+        } catch (RuntimeException e) {
+            log.error("Approval relay of shard {} could not hand {} outbox messages to the producer",
+                    shard, batch.size(), e);
+        }
+        List<UUID> completed = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        List<UUID> parked = new ArrayList<>();
+        for (int i = 0; i < receipts.size(); i++) {
+            CompletableFuture<PublishReceipt> receipt = receipts.get(i);
+            UUID id = batch.get(i).getId();
+            switch (receipt.state()) {
+                case SUCCESS -> completed.add(id);
+                case FAILED -> (receipt.exceptionNow() instanceof OutboxPayloadException ? parked : failed).add(id);
+                case CANCELLED -> failed.add(id);
+                case RUNNING -> {
+                    // * not acknowledged in time: keeps its lease and is claimed again once it expires
+                }
+            }
+        }
+        approvalOutboxHelper.markRelayed(completed, failed, parked, domainClock.instant());
+        relayedCount.add(completed.size());
+        failedCount.add(failed.size());
+        parkedCount.add(parked.size());
+        unackedCount.add(batch.size() - completed.size() - failed.size() - parked.size());
+        if (!parked.isEmpty()) {
+            log.error("Shard {} parked restaurant approval outbox messages with unreadable payloads, outbox ids: {}",
+                    shard, parked);
+        }
+        log.info("Shard {} relayed {} restaurant approval outbox messages, {} failed, {} parked",
+                shard, completed.size(), failed.size(), parked.size());
+        return completed.size();
+    }
+
+    @Transactional(readOnly = true)
+    public void refreshMetrics() {
+        backlogSize = approvalOutboxRepository.countByTypeAndOutboxStatus(
+                ORDER_PAYMENT_SAGA_NAME, OutboxStatus.STARTED, OutboxStatus.FAILED);
+        relayLagMs = approvalOutboxRepository.findOldestCreatedAt(
+                        ORDER_PAYMENT_SAGA_NAME, OutboxStatus.STARTED, OutboxStatus.FAILED)
+                .map(oldest -> Math.max(0, Duration.between(oldest, domainClock.instant()).toMillis()))
+                .orElse(0L);
+    }
+
+    @Transactional
+    public int deleteCompleted(Duration retention) {
+        return approvalOutboxRepository.deleteByTypeAndOutboxStatusAndProcessedAtBefore(
+                ORDER_PAYMENT_SAGA_NAME, OutboxStatus.COMPLETED, domainClock.instant().minus(retention));
+    }
+
+    public long getBacklogSize() {
+        return backlogSize;
+    }
+
+    public long getRelayLagMs() {
+        return relayLagMs;
+    }
+
+    public long getRelayedCount() {
+        return relayedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getUnackedCount() {
+        return unackedCount.sum();
+    }
+
+    public long getParkedCount() {
+        return parkedCount.sum();
+    }
+
+    // TODO Helpers
+    // ? waits until every receipt is settled or ackTimeoutMs has passed; the outcome of each row is read afterwards
+    private void awaitReceipts(List<CompletableFuture<PublishReceipt>> receipts, int shard)
+            throws InterruptedException {
+        try {
+            CompletableFuture.allOf(receipts.toArray(CompletableFuture[]::new)).get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // * some rows failed; which ones is read from their own futures
+        } catch (TimeoutException e) {
+            log.warn("{} of {} restaurant approval outbox messages of shard {} are not acknowledged in {} ms",
+                    receipts.stream().filter(receipt -> !receipt.isDone()).count(), receipts.size(), shard,
+                    ackTimeoutMs);
+        }
+    }
+}
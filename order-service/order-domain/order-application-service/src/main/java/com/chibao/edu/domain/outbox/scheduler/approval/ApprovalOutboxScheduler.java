@@ -0,0 +1,87 @@
+package com.chibao.edu.domain.outbox.scheduler.approval;
+
+import com.chibao.edu.domain.config.OutboxRelayConfigData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+// ? Drives ApprovalOutboxRelay with the same sharding and non-blocking drains as PaymentOutboxScheduler
+@Slf4j
+@Component
+public class ApprovalOutboxScheduler {
+    private final ApprovalOutboxRelay approvalOutboxRelay;
+    private final int batchSize;
+    private final int shardCount;
+    private final List<Integer> ownedShards;
+    private final Duration completedRetention;
+    private final ExecutorService relayExecutor;
+    private final Set<Integer> drainingShards = ConcurrentHashMap.newKeySet();
+
+    public ApprovalOutboxScheduler(ApprovalOutboxRelay approvalOutboxRelay,
+                                   OutboxRelayConfigData outboxRelayConfigData) {
+        this.approvalOutboxRelay = approvalOutboxRelay;
+        this.batchSize = outboxRelayConfigData.getBatchSize();
+        int relayThreads = outboxRelayConfigData.getRelayThreads();
+        this.shardCount = relayThreads * outboxRelayConfigData.getInstanceCount();
+        int firstShard = outboxRelayConfigData.getInstanceIndex() * relayThreads;
+        this.ownedShards = IntStream.range(firstShard, firstShard + relayThreads).boxed().toList();
+        this.completedRetention = Duration.ofMillis(outboxRelayConfigData.getCompletedRetentionMs());
+        this.relayExecutor = Executors.newFixedThreadPool(relayThreads);
+    }
+
+    @Scheduled(fixedDelayString = "${order-service.outbox-scheduler-fixed-rate:10000}",
+            initialDelayString = "${order-service.outbox-scheduler-initial-delay:10000}")
+    public void processOutboxMessage() {
+        for (Integer shard : ownedShards) {
+            if (!drainingShards.add(shard)) {
+                continue;
+            }
+            try {
+                relayExecutor.execute(() -> drainShard(shard));
+            } catch (RejectedExecutionException e) {
+                // * shutting down
+                drainingShards.remove(shard);
+            }
+        }
+        approvalOutboxRelay.refreshMetrics();
+        if (approvalOutboxRelay.getBacklogSize() > 0) {
+            log.info("Restaurant approval outbox backlog: {} messages, relay lag: {} ms",
+                    approvalOutboxRelay.getBacklogSize(), approvalOutboxRelay.getRelayLagMs());
+        }
+    }
+
+    @Scheduled(cron = "${order-service.outbox-cleaner-cron:0 */10 * * * *}")
+    public void cleanCompletedOutboxMessages() {
+        int deleted = approvalOutboxRelay.deleteCompleted(completedRetention);
+        log.info("{} completed restaurant approval outbox messages are deleted", deleted);
+    }
+
+    @PreDestroy
+    public void close() {
+        relayExecutor.shutdown();
+    }
+
+    // TODO Helpers
+    private void drainShard(int shard) {
+        try {
+            int completed;
+            do {
+                completed = approvalOutboxRelay.relayShard(shard, shardCount);
+            } while (completed == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.error("Relay of restaurant approval outbox shard {} failed, retrying on the next run", shard, e);
+        } finally {
+            drainingShards.remove(shard);
+        }
+    }
+}
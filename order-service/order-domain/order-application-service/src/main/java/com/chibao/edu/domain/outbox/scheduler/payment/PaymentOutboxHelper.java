@@ -0,0 +1,126 @@
+package com.chibao.edu.domain.outbox.scheduler.payment;
+
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderCancelledEvent;
+import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.mapper.OrderDataMapper;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+import com.chibao.edu.domain.ports.output.repository.PaymentOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// ? Writes payment outbox rows. The save methods must run in the transaction that saves the order,
+// * so an order and its payment request are committed (or rolled back) together. PaymentOutboxRelay moves them on
+// * and records the broker's answer through markRelayed, in its own short transaction.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentOutboxHelper {
+    public static final String ORDER_PAYMENT_SAGA_NAME = "OrderProcessingSaga";
+
+    PaymentOutboxRepository paymentOutboxRepository;
+    OrderDataMapper orderDataMapper;
+    IdGenerator idGenerator;
+    ObjectMapper objectMapper;
+
+    @Transactional
+    public void saveOrderCreatedOutboxMessage(OrderCreatedEvent orderCreatedEvent) {
+        PaymentOutboxMessage paymentOutboxMessage = orderCreatedEventToPaymentOutboxMessage(orderCreatedEvent);
+        if (paymentOutboxRepository.save(paymentOutboxMessage) == null) {
+            throw new OrderDomainException("Could not save payment outbox message with outbox id: "
+                    + paymentOutboxMessage.getId());
+        }
+        log.info("Payment outbox message is saved with outbox id: {}", paymentOutboxMessage.getId());
+    }
+
+    @Transactional
+    public void saveOrderCreatedOutboxMessages(List<OrderCreatedEvent> orderCreatedEvents) {
+        List<PaymentOutboxMessage> paymentOutboxMessages = orderCreatedEvents.stream()
+                .map(this::orderCreatedEventToPaymentOutboxMessage)
+                .toList();
+        List<PaymentOutboxMessage> saved = paymentOutboxRepository.saveAll(paymentOutboxMessages);
+        if (saved == null || saved.size() != paymentOutboxMessages.size()) {
+            throw new OrderDomainException("Could not save payment outbox messages in batch !");
+        }
+        log.info("{} payment outbox messages are saved in batch", saved.size());
+    }
+
+    // ? payment cancel requests of the approval saga; rides the same relay and shard as the order's payment request,
+    // * so it is never sent before it
+    @Transactional
+    public void saveOrderCancelledOutboxMessages(List<OrderCancelledEvent> orderCancelledEvents) {
+        if (orderCancelledEvents.isEmpty()) {
+            return;
+        }
+        List<PaymentOutboxMessage> paymentOutboxMessages = orderCancelledEvents.stream()
+                .map(orderCancelledEvent -> paymentOutboxMessage(orderCancelledEvent.getOrder(),
+                        orderCancelledEvent.getCreatedAt(),
+                        orderDataMapper.orderCancelledEventToOrderPaymentEventPayload(orderCancelledEvent)))
+                .toList();
+        List<PaymentOutboxMessage> saved = paymentOutboxRepository.saveAll(paymentOutboxMessages);
+        if (saved == null || saved.size() != paymentOutboxMessages.size()) {
+            throw new OrderDomainException("Could not save payment cancel outbox messages in batch !");
+        }
+        log.info("{} payment cancel outbox messages are saved in batch", saved.size());
+    }
+
+    @Transactional
+    public void markRelayed(Collection<UUID> completedIds, Collection<UUID> failedIds, Collection<UUID> parkedIds,
+                            Instant processedAt) {
+        if (!completedIds.isEmpty()) {
+            paymentOutboxRepository.updateOutboxStatus(completedIds, OutboxStatus.COMPLETED, processedAt);
+        }
+        if (!failedIds.isEmpty()) {
+            paymentOutboxRepository.updateOutboxStatus(failedIds, OutboxStatus.FAILED, processedAt);
+        }
+        if (!parkedIds.isEmpty()) {
+            paymentOutboxRepository.updateOutboxStatus(parkedIds, OutboxStatus.PARKED, processedAt);
+        }
+    }
+
+    // TODO Helpers
+    private PaymentOutboxMessage orderCreatedEventToPaymentOutboxMessage(OrderCreatedEvent orderCreatedEvent) {
+        return paymentOutboxMessage(orderCreatedEvent.getOrder(), orderCreatedEvent.getCreatedAt(),
+                orderDataMapper.orderCreatedEventToOrderPaymentEventPayload(orderCreatedEvent));
+    }
+
+    private PaymentOutboxMessage paymentOutboxMessage(Order order, Instant createdAt, OrderPaymentEventPayload payload) {
+        return PaymentOutboxMessage.builder()
+                .id(idGenerator.generate())
+                // ? one saga per order, same as the messaging mapper
+                .sagaId(order.getId().getValue())
+                .orderId(order.getId().getValue())
+                .createdAt(createdAt)
+                .type(ORDER_PAYMENT_SAGA_NAME)
+                .payload(createPayload(payload))
+                .orderStatus(order.getOrderStatus())
+                .outboxStatus(OutboxStatus.STARTED)
+                .build();
+    }
+
+    private String createPayload(OrderPaymentEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not create OrderPaymentEventPayload for order id: {}", payload.getOrderId(), e);
+            throw new OrderDomainException("Could not create OrderPaymentEventPayload for order id: "
+                    + payload.getOrderId(), e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.chibao.edu.domain.outbox.scheduler.payment;
+
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.config.OutboxRelayConfigData;
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.OutboxPayloadException;
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+import com.chibao.edu.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
+import com.chibao.edu.domain.ports.output.repository.PaymentOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxHelper.ORDER_PAYMENT_SAGA_NAME;
+
+// ? Relays one shard of the payment outbox per call in three steps, none of which holds a lock or a connection
+// * across the next: claim a batch by leasing it for leaseMs (one short statement), hand it to the producer and wait
+// * for the acks, then mark the rows with one UPDATE per status in a short transaction. Rows whose ack has not arrived within ackTimeoutMs
+// * keep their lease and are claimed again once it expires; delivery is at least once. Rows the publisher parks
+// * (unreadable payload) are never retried; each one is logged as an error and counted for alerting.
+@Slf4j
+@Component
+public class PaymentOutboxRelay {
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentOutboxHelper paymentOutboxHelper;
+    private final PaymentRequestMessagePublisher paymentRequestMessagePublisher;
+    private final DomainClock domainClock;
+    private final int batchSize;
+    private final long ackTimeoutMs;
+    private final Duration lease;
+    private final LongAdder relayedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder unackedCount = new LongAdder();
+    private final LongAdder parkedCount = new LongAdder();
+    private volatile long backlogSize;
+    private volatile long relayLagMs;
+
+    public PaymentOutboxRelay(PaymentOutboxRepository paymentOutboxRepository,
+                              PaymentOutboxHelper paymentOutboxHelper,
+                              PaymentRequestMessagePublisher paymentRequestMessagePublisher,
+                              DomainClock domainClock,
+                              OutboxRelayConfigData outboxRelayConfigData) {
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.paymentOutboxHelper = paymentOutboxHelper;
+        this.paymentRequestMessagePublisher = paymentRequestMessagePublisher;
+        this.domainClock = domainClock;
+        this.batchSize = outboxRelayConfigData.getBatchSize();
+        this.ackTimeoutMs = outboxRelayConfigData.getAckTimeoutMs();
+        this.lease = Duration.ofMillis(outboxRelayConfigData.getLeaseMs());
+    }
+
+    // ? returns the number of rows the broker acknowledged, so callers only keep draining while every row of a
+    // * full batch went through; a failure or a missing ack ends the drain until the next run
+    public int relayShard(int shard, int shardCount) {
+        Instant claimedAt = domainClock.instant();
+        List<PaymentOutboxMessage> batch = paymentOutboxRepository.claimRelayBatch(
+                ORDER_PAYMENT_SAGA_NAME, shard, shardCount, batchSize, claimedAt, claimedAt.plus(lease));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<PublishReceipt>> receipts = List.of();
+        try {
+            receipts = paymentRequestMessagePublisher.publishAllAsync(batch);
+            awaitReceipts(receipts, shard);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Relay of shard {} is interrupted while waiting for acks", shard);
+        } catch (RuntimeException e) {
+            log.error("Relay of shard {} could not hand {} payment outbox messages to the producer",
+                    shard, batch.size(), e);
+        }
+        // ? one read of each receipt: acks arriving after this point are ignored and those rows are sent again
+        List<UUID> completed = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        List<UUID> parked = new ArrayList<>();
+        for (int i = 0; i < receipts.size(); i++) {
+            CompletableFuture<PublishReceipt> receipt = receipts.get(i);
+            UUID id = batch.get(i).getId();
+            switch (receipt.state()) {
+                case SUCCESS -> completed.add(id);
+                case FAILED -> (receipt.exceptionNow() instanceof OutboxPayloadException ? parked : failed).add(id);
+                case CANCELLED -> failed.add(id);
+                case RUNNING -> {
+                    // * not acknowledged in time: keeps its lease and is claimed again once it expires
+                }
+            }
+        }
+        paymentOutboxHelper.markRelayed(completed, failed, parked, domainClock.instant());
+        relayedCount.add(completed.size());
+        failedCount.add(failed.size());
+        parkedCount.add(parked.size());
+        unackedCount.add(batch.size() - completed.size() - failed.size() - parked.size());
+        if (!parked.isEmpty()) {
+            log.error("Shard {} parked payment outbox messages with unreadable payloads, outbox ids: {}",
+                    shard, parked);
+        }
+        log.info("Shard {} relayed {} payment outbox messages, {} failed, {} parked",
+                shard, completed.size(), failed.size(), parked.size());
+        return completed.size();
+    }
+
+    // ? backlog is every row still waiting for the broker; lag is the age of the oldest of them
+    @Transactional(readOnly = true)
+    public void refreshMetrics() {
+        backlogSize = paymentOutboxRepository.countByTypeAndOutboxStatus(
+                ORDER_PAYMENT_SAGA_NAME, OutboxStatus.STARTED, OutboxStatus.FAILED);
+        relayLagMs = paymentOutboxRepository.findOldestCreatedAt(
+                        ORDER_PAYMENT_SAGA_NAME, OutboxStatus.STARTED, OutboxStatus.FAILED)
+                .map(oldest -> Math.max(0, Duration.between(oldest, domainClock.instant()).toMillis()))
+                .orElse(0L);
+    }
+
+    @Transactional
+    public int deleteCompleted(Duration retention) {
+        return paymentOutboxRepository.deleteByTypeAndOutboxStatusAndProcessedAtBefore(
+                ORDER_PAYMENT_SAGA_NAME, OutboxStatus.COMPLETED, domainClock.instant().minus(retention));
+    }
+
+    public long getBacklogSize() {
+        return backlogSize;
+    }
+
+    public long getRelayLagMs() {
+        return relayLagMs;
+    }
+
+    public long getRelayedCount() {
+        return relayedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getUnackedCount() {
+        return unackedCount.sum();
+    }
+
+    public long getParkedCount() {
+        return parkedCount.sum();
+    }
+
+    // TODO Helpers
+    // ? waits until every receipt is settled or ackTimeoutMs has passed; the outcome of each row is read afterwards
+    private void awaitReceipts(List<CompletableFuture<PublishReceipt>> receipts, int shard)
+            throws InterruptedException {
+        try {
+            CompletableFuture.allOf(receipts.toArray(CompletableFuture[]::new)).get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // * some rows failed; which ones is read from their own futures
+        } catch (TimeoutException e) {
+            log.warn("{} of {} payment outbox messages of shard {} are not acknowledged in {} ms",
+                    receipts.stream().filter(receipt -> !receipt.isDone()).count(), receipts.size(), shard,
+                    ackTimeoutMs);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.chibao.edu.domain.outbox.scheduler.payment;
+
+import com.chibao.edu.domain.config.OutboxRelayConfigData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+// ? Drives PaymentOutboxRelay. The outbox is split into relayThreads * instanceCount shards by order id; this
+// * instance owns relayThreads of them and relays each on its own thread. All rows of an order belong to one shard,
+// * and a shard only ever hands out the oldest unfinished row of an order, so per-order ordering holds across
+// * threads and instances. Each shard is drained until a batch is not fully acknowledged. The scheduled method only
+// * hands the drains to the relay threads and returns, so it never holds the shared scheduler thread; a shard whose
+// * drain is still running is skipped.
+@Slf4j
+@Component
+public class PaymentOutboxScheduler {
+    private final PaymentOutboxRelay paymentOutboxRelay;
+    private final int batchSize;
+    private final int shardCount;
+    private final List<Integer> ownedShards;
+    private final Duration completedRetention;
+    private final ExecutorService relayExecutor;
+    private final Set<Integer> drainingShards = ConcurrentHashMap.newKeySet();
+
+    public PaymentOutboxScheduler(PaymentOutboxRelay paymentOutboxRelay, OutboxRelayConfigData outboxRelayConfigData) {
+        this.paymentOutboxRelay = paymentOutboxRelay;
+        this.batchSize = outboxRelayConfigData.getBatchSize();
+        int relayThreads = outboxRelayConfigData.getRelayThreads();
+        this.shardCount = relayThreads * outboxRelayConfigData.getInstanceCount();
+        int firstShard = outboxRelayConfigData.getInstanceIndex() * relayThreads;
+        this.ownedShards = IntStream.range(firstShard, firstShard + relayThreads).boxed().toList();
+        this.completedRetention = Duration.ofMillis(outboxRelayConfigData.getCompletedRetentionMs());
+        this.relayExecutor = Executors.newFixedThreadPool(relayThreads);
+    }
+
+    @Scheduled(fixedDelayString = "${order-service.outbox-scheduler-fixed-rate:10000}",
+            initialDelayString = "${order-service.outbox-scheduler-initial-delay:10000}")
+    public void processOutboxMessage() {
+        for (Integer shard : ownedShards) {
+            if (!drainingShards.add(shard)) {
+                continue;
+            }
+            try {
+                relayExecutor.execute(() -> drainShard(shard));
+            } catch (RejectedExecutionException e) {
+                // * shutting down
+                drainingShards.remove(shard);
+            }
+        }
+        paymentOutboxRelay.refreshMetrics();
+        if (paymentOutboxRelay.getBacklogSize() > 0) {
+            log.info("Payment outbox backlog: {} messages, relay lag: {} ms",
+                    paymentOutboxRelay.getBacklogSize(), paymentOutboxRelay.getRelayLagMs());
+        }
+    }
+
+    @Scheduled(cron = "${order-service.outbox-cleaner-cron:0 */10 * * * *}")
+    public void cleanCompletedOutboxMessages() {
+        int deleted = paymentOutboxRelay.deleteCompleted(completedRetention);
+        log.info("{} completed payment outbox messages are deleted", deleted);
+    }
+
+    @PreDestroy
+    public void close() {
+        relayExecutor.shutdown();
+    }
+
+    // TODO Helpers
+    private void drainShard(int shard) {
+        try {
+            int completed;
+            do {
+                completed = paymentOutboxRelay.relayShard(shard, shardCount);
+            } while (completed == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.error("Relay of payment outbox shard {} failed, retrying on the next run", shard, e);
+        } finally {
+            drainingShards.remove(shard);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.chibao.edu.domain.ports.input.message.listener.customer;
+
+import com.chibao.edu.domain.dto.message.CustomerModel;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface CustomerMessageListener {
+    void customerCreated(CustomerModel customerModel);
+
+    // ? the customer topic has to be consumed from this instant on; empty when no replay is needed
+    Optional<Instant> replayFrom();
+}
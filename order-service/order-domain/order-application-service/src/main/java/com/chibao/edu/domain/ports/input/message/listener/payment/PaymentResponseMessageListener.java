@@ -2,7 +2,11 @@ package com.chibao.edu.domain.ports.input.message.listener.payment;
 
 import com.chibao.edu.domain.dto.message.PaymentResponse;
 
+import java.util.List;
+
 public interface PaymentResponseMessageListener {
     void paymentCompleted(PaymentResponse paymentResponse);
     void paymentCancelled(PaymentResponse paymentResponse);
+    // ? a whole consumer poll at once; completed and cancelled responses may be mixed
+    void paymentResponses(List<PaymentResponse> paymentResponses);
 }
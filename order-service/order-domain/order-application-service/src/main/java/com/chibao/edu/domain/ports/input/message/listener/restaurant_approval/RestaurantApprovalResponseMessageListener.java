@@ -2,7 +2,11 @@ package com.chibao.edu.domain.ports.input.message.listener.restaurant_approval;
 
 import com.chibao.edu.domain.dto.message.RestaurantApprovalResponse;
 
+import java.util.List;
+
 public interface RestaurantApprovalResponseMessageListener {
     void orderApproved(RestaurantApprovalResponse restaurantApprovalResponse);
     void orderRejected(RestaurantApprovalResponse restaurantApprovalResponse);
+    // ? a whole consumer poll at once; approvals and rejections may be mixed
+    void restaurantApprovalResponses(List<RestaurantApprovalResponse> restaurantApprovalResponses);
 }
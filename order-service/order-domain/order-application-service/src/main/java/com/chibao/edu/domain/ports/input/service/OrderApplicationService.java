@@ -2,11 +2,16 @@ package com.chibao.edu.domain.ports.input.service;
 
 import com.chibao.edu.domain.dto.create.CreateOrderCommand;
 import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+import com.chibao.edu.domain.dto.create.CreateOrderResult;
 import com.chibao.edu.domain.dto.track.TrackOrderQuery;
 import com.chibao.edu.domain.dto.track.TrackOrderResponse;
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 public interface OrderApplicationService {
     CreateOrderResponse createOrder(@Valid CreateOrderCommand createOrderCommand);
+    // ? results are returned in command order; a rejected command does not fail the rest of the batch
+    List<CreateOrderResult> createOrders(@Valid List<CreateOrderCommand> createOrderCommands);
     TrackOrderResponse trackOrder(@Valid TrackOrderQuery trackOrderQuery);
 }
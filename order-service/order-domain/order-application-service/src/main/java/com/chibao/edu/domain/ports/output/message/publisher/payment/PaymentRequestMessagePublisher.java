@@ -0,0 +1,19 @@
+package com.chibao.edu.domain.ports.output.message.publisher.payment;
+
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// ? Publishes payment outbox rows to the broker without blocking. The future completes with the receipt once the
+// * broker has acknowledged the row, exceptionally with OutboxPayloadException when the row's payload cannot be
+// * turned into a request at all (the row is parked), or exceptionally with the broker's error otherwise.
+public interface PaymentRequestMessagePublisher {
+    CompletableFuture<PublishReceipt> publishAsync(PaymentOutboxMessage paymentOutboxMessage);
+
+    // ? rows are handed to the producer in list order; one future per row, in the same order
+    default List<CompletableFuture<PublishReceipt>> publishAllAsync(List<PaymentOutboxMessage> paymentOutboxMessages) {
+        return paymentOutboxMessages.stream().map(this::publishAsync).toList();
+    }
+}
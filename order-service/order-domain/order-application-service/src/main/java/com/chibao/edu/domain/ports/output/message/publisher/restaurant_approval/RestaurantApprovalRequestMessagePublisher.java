@@ -0,0 +1,20 @@
+package com.chibao.edu.domain.ports.output.message.publisher.restaurant_approval;
+
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// ? Publishes restaurant approval outbox rows to the broker without blocking, with the same contract as
+// * PaymentRequestMessagePublisher: the receipt on ack, OutboxPayloadException for an unreadable payload,
+// * the broker's error otherwise.
+public interface RestaurantApprovalRequestMessagePublisher {
+    CompletableFuture<PublishReceipt> publishAsync(OrderApprovalOutboxMessage orderApprovalOutboxMessage);
+
+    // ? rows are handed to the producer in list order; one future per row, in the same order
+    default List<CompletableFuture<PublishReceipt>> publishAllAsync(
+            List<OrderApprovalOutboxMessage> orderApprovalOutboxMessages) {
+        return orderApprovalOutboxMessages.stream().map(this::publishAsync).toList();
+    }
+}
@@ -0,0 +1,26 @@
+package com.chibao.edu.domain.ports.output.repository;
+
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// ? Same contract as PaymentOutboxRepository, on the restaurant approval outbox
+public interface ApprovalOutboxRepository {
+    List<OrderApprovalOutboxMessage> saveAll(List<OrderApprovalOutboxMessage> orderApprovalOutboxMessages);
+
+    // ? leases up to batchSize unfinished, unleased rows of the shard, oldest first and oldest per order only
+    List<OrderApprovalOutboxMessage> claimRelayBatch(String type, int shard, int shardCount, int batchSize,
+                                                     Instant now, Instant leaseUntil);
+
+    // ? one UPDATE ... WHERE id IN (...) per status; also releases the lease
+    void updateOutboxStatus(Collection<UUID> ids, OutboxStatus outboxStatus, Instant processedAt);
+
+    long countByTypeAndOutboxStatus(String type, OutboxStatus... outboxStatus);
+    Optional<Instant> findOldestCreatedAt(String type, OutboxStatus... outboxStatus);
+    int deleteByTypeAndOutboxStatusAndProcessedAtBefore(String type, OutboxStatus outboxStatus, Instant processedAt);
+}
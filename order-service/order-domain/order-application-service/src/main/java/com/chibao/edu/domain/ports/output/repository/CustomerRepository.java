@@ -2,9 +2,17 @@ package com.chibao.edu.domain.ports.output.repository;
 
 import com.chibao.edu.domain.entity.Customer;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface CustomerRepository {
     Optional<Customer> findCustomer(UUID customerId);
+    // ? one round trip for many ids; ids that do not exist are absent from the map
+    Map<UUID, Customer> findCustomers(Collection<UUID> customerIds);
+    // ? used once at startup to seed the customer existence filter; ids are streamed, never collected, and the
+    // * number of ids visited is returned
+    long forEachCustomerId(Consumer<UUID> customerIdConsumer);
 }
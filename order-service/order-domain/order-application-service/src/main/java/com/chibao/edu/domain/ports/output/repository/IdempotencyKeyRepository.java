@@ -0,0 +1,19 @@
+package com.chibao.edu.domain.ports.output.repository;
+
+import com.chibao.edu.domain.dto.create.CreateOrderResponse;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyKeyRepository {
+    // ? only keys that have not expired at now are returned
+    Optional<CreateOrderResponse> findResponse(UUID idempotencyKey, Instant now);
+    Map<UUID, CreateOrderResponse> findResponses(Collection<UUID> idempotencyKeys, Instant now);
+    // ? stores the response unless a key that is still alive at createdAt exists; returns false in that case.
+    // * Must join the caller's transaction, so the key is committed together with the order it belongs to.
+    boolean save(UUID idempotencyKey, CreateOrderResponse createOrderResponse, Instant createdAt, Instant expiresAt);
+    int deleteExpired(Instant now);
+}
@@ -1,11 +1,19 @@
 package com.chibao.edu.domain.ports.output.repository;
 
 import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.value_object.OrderId;
 import com.chibao.edu.domain.value_object.TrackingId;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface OrderRepository {
     Order save(Order order);
+    // ? persists all orders in one batched write
+    List<Order> saveAll(List<Order> orders);
     Optional<Order> findByTrackingId(TrackingId trackingId);
+    // ? loads all requested orders in one round trip; ids that do not exist are absent from the map
+    Map<OrderId, Order> findOrders(Collection<OrderId> orderIds);
 }
@@ -0,0 +1,14 @@
+package com.chibao.edu.domain.ports.output.repository;
+
+import com.chibao.edu.domain.projection.OrderTrackingProjection;
+import com.chibao.edu.domain.value_object.TrackingId;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderTrackingRepository {
+    Optional<OrderTrackingProjection> findByTrackingId(TrackingId trackingId);
+    // ? upsert by tracking id
+    void save(OrderTrackingProjection orderTrackingProjection);
+    void saveAll(List<OrderTrackingProjection> orderTrackingProjections);
+}
@@ -0,0 +1,30 @@
+package com.chibao.edu.domain.ports.output.repository;
+
+import com.chibao.edu.domain.outbox.model.OutboxStatus;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PaymentOutboxRepository {
+    PaymentOutboxMessage save(PaymentOutboxMessage paymentOutboxMessage);
+    List<PaymentOutboxMessage> saveAll(List<PaymentOutboxMessage> paymentOutboxMessages);
+
+    // ? Claims up to batchSize STARTED or FAILED rows of the given shard, oldest first, whose lease is absent or
+    // * expired at now, and leases them until leaseUntil. The claim is one short statement
+    // * (UPDATE ... WHERE id IN (SELECT ... FOR UPDATE SKIP LOCKED)), so no lock is held while the rows are published.
+    // * Only the oldest unfinished row of each order is eligible, so a later message of an order is never relayed
+    // * before an earlier one. A row belongs to shard OutboxShard.shardOf(order_id, shardCount).
+    List<PaymentOutboxMessage> claimRelayBatch(String type, int shard, int shardCount, int batchSize,
+                                               Instant now, Instant leaseUntil);
+
+    // ? one UPDATE ... WHERE id IN (...) per status; also releases the lease
+    void updateOutboxStatus(Collection<UUID> ids, OutboxStatus outboxStatus, Instant processedAt);
+
+    long countByTypeAndOutboxStatus(String type, OutboxStatus... outboxStatus);
+    Optional<Instant> findOldestCreatedAt(String type, OutboxStatus... outboxStatus);
+    int deleteByTypeAndOutboxStatusAndProcessedAtBefore(String type, OutboxStatus outboxStatus, Instant processedAt);
+}
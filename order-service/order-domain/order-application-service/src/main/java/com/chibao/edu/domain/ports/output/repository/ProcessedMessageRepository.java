@@ -0,0 +1,14 @@
+package com.chibao.edu.domain.ports.output.repository;
+
+import com.chibao.edu.domain.saga.ProcessedMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ProcessedMessageRepository {
+    // ? returns the subset of the given messages that was already processed, in one round trip
+    Set<ProcessedMessage> findProcessed(Collection<ProcessedMessage> processedMessages);
+    // ? plain insert, a duplicate key must fail the transaction
+    void saveAll(List<ProcessedMessage> processedMessages);
+}
@@ -1,9 +1,14 @@
 package com.chibao.edu.domain.ports.output.repository;
 
 import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.value_object.RestaurantId;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface RestaurantRepository {
     Optional<Restaurant> findRestaurantInformation(Restaurant restaurant);
+    // ? one round trip for many restaurants, each with the products asked for; unknown restaurants are absent
+    Map<RestaurantId, Restaurant> findRestaurantsInformation(Collection<Restaurant> restaurants);
 }
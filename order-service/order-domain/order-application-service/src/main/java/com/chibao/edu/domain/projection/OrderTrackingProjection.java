@@ -0,0 +1,23 @@
+package com.chibao.edu.domain.projection;
+
+import com.chibao.edu.domain.value_object.OrderStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.UUID;
+
+// ? Read model for order tracking: only what trackOrder returns, keyed by tracking id.
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderTrackingProjection {
+    UUID trackingId;
+    UUID orderId;
+    OrderStatus orderStatus;
+    List<String> failureMessages;
+}
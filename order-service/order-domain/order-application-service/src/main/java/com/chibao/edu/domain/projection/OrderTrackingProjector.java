@@ -0,0 +1,42 @@
+package com.chibao.edu.domain.projection;
+
+import com.chibao.edu.domain.cache.TrackOrderCache;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderEvent;
+import com.chibao.edu.domain.mapper.OrderDataMapper;
+import com.chibao.edu.domain.ports.output.repository.OrderTrackingRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// ? Keeps the tracking read model in step with the order aggregate. Call it in the same transaction that
+// * saves the order, after every status change.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderTrackingProjector {
+    OrderTrackingRepository orderTrackingRepository;
+    OrderDataMapper orderDataMapper;
+    TrackOrderCache trackOrderCache;
+
+    public void project(OrderEvent orderEvent) {
+        project(orderEvent.getOrder());
+    }
+
+    public void project(Order order) {
+        orderTrackingRepository.save(orderDataMapper.orderToOrderTrackingProjection(order));
+        trackOrderCache.invalidate(order.getTrackingId().getValue());
+        log.debug("Tracking projection is updated for order id: {} with status: {}",
+                order.getId().getValue(), order.getOrderStatus());
+    }
+
+    public void projectAll(List<Order> orders) {
+        orderTrackingRepository.saveAll(orders.stream().map(orderDataMapper::orderToOrderTrackingProjection).toList());
+        orders.forEach(order -> trackOrderCache.invalidate(order.getTrackingId().getValue()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.chibao.edu.domain.saga;
+
+import com.chibao.edu.domain.OrderDomainService;
+import com.chibao.edu.domain.dto.message.RestaurantApprovalResponse;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderCancelledEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxHelper;
+import com.chibao.edu.domain.ports.output.repository.OrderRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjector;
+import com.chibao.edu.domain.value_object.OrderApprovalStatus;
+import com.chibao.edu.domain.value_object.OrderId;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// ? Restaurant approval step of the order saga, batched like OrderPaymentSaga: one load, one save and one processed
+// * marker insert per batch. Approvals end the saga; rejections start the compensation by moving the order to
+// * CANCELLING and writing a payment cancel request to the payment outbox in the same transaction. A response whose
+// * order is not found is not marked processed. Responses are applied in batch order, so several responses of the
+// * same order are applied one after the other on the same loaded instance.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderApprovalSaga {
+    public static final String RESTAURANT_APPROVAL_RESPONSE_MESSAGE_TYPE = "RestaurantApprovalResponse";
+
+    OrderDomainService orderDomainService;
+    OrderRepository orderRepository;
+    ProcessedMessageFilter processedMessageFilter;
+    OrderTrackingProjector orderTrackingProjector;
+    PaymentOutboxHelper paymentOutboxHelper;
+
+    // ? returns the cancelled events whose payment cancel requests were written to the outbox
+    @Transactional
+    public List<OrderCancelledEvent> process(List<RestaurantApprovalResponse> restaurantApprovalResponses) {
+        Map<ProcessedMessage, RestaurantApprovalResponse> pending = processedMessageFilter.filterUnprocessed(
+                restaurantApprovalResponses, RESTAURANT_APPROVAL_RESPONSE_MESSAGE_TYPE,
+                RestaurantApprovalResponse::getSagaId, RestaurantApprovalResponse::getId);
+        if (pending.isEmpty()) {
+            log.info("All {} restaurant approval responses are already processed", restaurantApprovalResponses.size());
+            return List.of();
+        }
+
+        Map<OrderId, Order> orders = orderRepository.findOrders(pending.values().stream()
+                .map(this::orderIdOf)
+                .distinct()
+                .toList());
+        List<OrderCancelledEvent> orderCancelledEvents = new ArrayList<>();
+        Map<OrderId, Order> changedOrders = new LinkedHashMap<>();
+        Set<ProcessedMessage> applied = new LinkedHashSet<>();
+        for (Map.Entry<ProcessedMessage, RestaurantApprovalResponse> entry : pending.entrySet()) {
+            RestaurantApprovalResponse restaurantApprovalResponse = entry.getValue();
+            OrderId orderId = orderIdOf(restaurantApprovalResponse);
+            Order order = orders.get(orderId);
+            if (order == null) {
+                log.error("Could not find order with id: {} for restaurant approval response with id: {}",
+                        restaurantApprovalResponse.getOrderId(), restaurantApprovalResponse.getId());
+                continue;
+            }
+            applied.add(entry.getKey());
+            try {
+                applyRestaurantApprovalResponse(order, restaurantApprovalResponse, orderCancelledEvents);
+                changedOrders.put(orderId, order);
+            } catch (OrderDomainException e) {
+                log.warn("Restaurant approval response with id: {} is skipped for order id: {} in status {}: {}",
+                        restaurantApprovalResponse.getId(), restaurantApprovalResponse.getOrderId(),
+                        order.getOrderStatus(), e.getMessage());
+            }
+        }
+
+        if (!changedOrders.isEmpty()) {
+            List<Order> orderResults = orderRepository.saveAll(List.copyOf(changedOrders.values()));
+            if (orderResults == null || orderResults.size() != changedOrders.size()) {
+                throw new OrderDomainException("Could not save orders of restaurant approval responses in batch !");
+            }
+            orderTrackingProjector.projectAll(orderResults);
+        }
+        paymentOutboxHelper.saveOrderCancelledOutboxMessages(orderCancelledEvents);
+        processedMessageFilter.markProcessed(applied);
+        log.info("{} restaurant approval responses are processed, {} duplicates skipped, {} without order, "
+                        + "{} orders updated", applied.size(), restaurantApprovalResponses.size() - pending.size(),
+                pending.size() - applied.size(), changedOrders.size());
+        return orderCancelledEvents;
+    }
+
+    // TODO Helpers
+    private void applyRestaurantApprovalResponse(Order order, RestaurantApprovalResponse restaurantApprovalResponse,
+                                                 List<OrderCancelledEvent> orderCancelledEvents) {
+        if (restaurantApprovalResponse.getOrderApprovalStatus() == OrderApprovalStatus.APPROVED) {
+            orderDomainService.approveOrder(order);
+        } else {
+            orderCancelledEvents.add(orderDomainService.cancelOrderPayment(order,
+                    restaurantApprovalResponse.getFailureMessages()));
+        }
+    }
+
+    private OrderId orderIdOf(RestaurantApprovalResponse restaurantApprovalResponse) {
+        return new OrderId(UUID.fromString(restaurantApprovalResponse.getOrderId()));
+    }
+}
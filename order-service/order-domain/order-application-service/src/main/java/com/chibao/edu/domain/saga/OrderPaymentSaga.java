@@ -0,0 +1,112 @@
+package com.chibao.edu.domain.saga;
+
+import com.chibao.edu.domain.OrderDomainService;
+import com.chibao.edu.domain.dto.message.PaymentResponse;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderPaidEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.outbox.scheduler.approval.ApprovalOutboxHelper;
+import com.chibao.edu.domain.ports.output.repository.OrderRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjector;
+import com.chibao.edu.domain.value_object.OrderId;
+import com.chibao.edu.domain.value_object.PaymentStatus;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// ? Payment step of the order saga, applied to a whole batch of payment responses in one transaction:
+// * one lookup for already processed messages, one load of all referenced orders, one save of the changed orders
+// * and one insert of the processed markers. Redelivered messages are dropped by (sagaId, id); a response whose
+// * transition is no longer valid for the order (e.g. it was already paid) is logged and marked processed. A response
+// * whose order is not found is not marked, so a redelivery can still apply it. Restaurant approval requests of the
+// * paid orders are written to the approval outbox in the same transaction, so none is lost once the order is PAID.
+// * Responses are applied in batch order, so responses of the same order keep their partition order.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderPaymentSaga {
+    public static final String PAYMENT_RESPONSE_MESSAGE_TYPE = "PaymentResponse";
+
+    OrderDomainService orderDomainService;
+    OrderRepository orderRepository;
+    ProcessedMessageFilter processedMessageFilter;
+    OrderTrackingProjector orderTrackingProjector;
+    ApprovalOutboxHelper approvalOutboxHelper;
+
+    // ? returns the paid events whose approval requests were written to the outbox
+    @Transactional
+    public List<OrderPaidEvent> process(List<PaymentResponse> paymentResponses) {
+        Map<ProcessedMessage, PaymentResponse> pending = processedMessageFilter.filterUnprocessed(paymentResponses,
+                PAYMENT_RESPONSE_MESSAGE_TYPE, PaymentResponse::getSagaId, PaymentResponse::getId);
+        if (pending.isEmpty()) {
+            log.info("All {} payment responses are already processed", paymentResponses.size());
+            return List.of();
+        }
+
+        Map<OrderId, Order> orders = orderRepository.findOrders(pending.values().stream()
+                .map(this::orderIdOf)
+                .distinct()
+                .toList());
+        List<OrderPaidEvent> orderPaidEvents = new ArrayList<>();
+        Map<OrderId, Order> changedOrders = new LinkedHashMap<>();
+        Set<ProcessedMessage> applied = new LinkedHashSet<>();
+        for (Map.Entry<ProcessedMessage, PaymentResponse> entry : pending.entrySet()) {
+            PaymentResponse paymentResponse = entry.getValue();
+            OrderId orderId = orderIdOf(paymentResponse);
+            Order order = orders.get(orderId);
+            if (order == null) {
+                log.error("Could not find order with id: {} for payment response with id: {}",
+                        paymentResponse.getOrderId(), paymentResponse.getId());
+                continue;
+            }
+            applied.add(entry.getKey());
+            try {
+                applyPaymentResponse(order, paymentResponse, orderPaidEvents);
+                changedOrders.put(orderId, order);
+            } catch (OrderDomainException e) {
+                log.warn("Payment response with id: {} is skipped for order id: {} in status {}: {}",
+                        paymentResponse.getId(), paymentResponse.getOrderId(), order.getOrderStatus(), e.getMessage());
+            }
+        }
+
+        if (!changedOrders.isEmpty()) {
+            List<Order> orderResults = orderRepository.saveAll(List.copyOf(changedOrders.values()));
+            if (orderResults == null || orderResults.size() != changedOrders.size()) {
+                throw new OrderDomainException("Could not save orders of payment responses in batch !");
+            }
+            orderTrackingProjector.projectAll(orderResults);
+        }
+        approvalOutboxHelper.saveOrderPaidOutboxMessages(orderPaidEvents);
+        processedMessageFilter.markProcessed(applied);
+        log.info("{} payment responses are processed, {} duplicates skipped, {} without order, {} orders updated",
+                applied.size(), paymentResponses.size() - pending.size(), pending.size() - applied.size(),
+                changedOrders.size());
+        return orderPaidEvents;
+    }
+
+    // TODO Helpers
+    private void applyPaymentResponse(Order order, PaymentResponse paymentResponse,
+                                      List<OrderPaidEvent> orderPaidEvents) {
+        if (paymentResponse.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            orderPaidEvents.add(orderDomainService.payOrder(order));
+        } else {
+            orderDomainService.cancelOrder(order, paymentResponse.getFailureMessages());
+        }
+    }
+
+    private OrderId orderIdOf(PaymentResponse paymentResponse) {
+        return new OrderId(UUID.fromString(paymentResponse.getOrderId()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.chibao.edu.domain.saga;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// ? Marker that a saga response was applied. Identity is (sagaId, messageId), the primary key of processed_message,
+// * so a second consumer racing on the same message fails its insert and rolls back instead of applying it twice.
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProcessedMessage {
+    @EqualsAndHashCode.Include
+    UUID sagaId;
+    @EqualsAndHashCode.Include
+    UUID messageId;
+    String type;
+    Instant processedAt;
+}
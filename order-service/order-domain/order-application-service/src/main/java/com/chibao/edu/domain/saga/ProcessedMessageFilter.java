@@ -0,0 +1,48 @@
+package com.chibao.edu.domain.saga;
+
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.ports.output.repository.ProcessedMessageRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+// ? Deduplication shared by the saga steps. Both methods are meant to run inside the step's transaction.
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProcessedMessageFilter {
+    ProcessedMessageRepository processedMessageRepository;
+    DomainClock domainClock;
+
+    // ? returns the messages that were not processed yet, keyed by their marker, in batch order; duplicates
+    // * inside the batch are dropped as well
+    public <T> Map<ProcessedMessage, T> filterUnprocessed(List<T> messages, String type,
+                                                          Function<T, String> sagaIdOf, Function<T, String> idOf) {
+        Instant processedAt = domainClock.instant();
+        Map<ProcessedMessage, T> candidates = new LinkedHashMap<>();
+        messages.forEach(message -> candidates.putIfAbsent(ProcessedMessage.builder()
+                .sagaId(UUID.fromString(sagaIdOf.apply(message)))
+                .messageId(UUID.fromString(idOf.apply(message)))
+                .type(type)
+                .processedAt(processedAt)
+                .build(), message));
+        Set<ProcessedMessage> alreadyProcessed = processedMessageRepository.findProcessed(candidates.keySet());
+        candidates.keySet().removeAll(alreadyProcessed);
+        return candidates;
+    }
+
+    public void markProcessed(Set<ProcessedMessage> processedMessages) {
+        if (!processedMessages.isEmpty()) {
+            processedMessageRepository.saveAll(List.copyOf(processedMessages));
+        }
+    }
+}
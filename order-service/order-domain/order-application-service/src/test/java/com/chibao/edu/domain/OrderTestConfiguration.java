@@ -1,10 +1,18 @@
 //package com.chibao.edu.domain;
 //
+//import com.chibao.edu.domain.clock.DomainClock;
+//import com.chibao.edu.domain.id_generator.IdGenerator;
+//import com.chibao.edu.domain.id_generator.UuidV7Generator;
 //import com.chibao.edu.domain.ports.output.message.publisher.payment.OrderCancelledPaymentRequestMessagePublisher;
 //import com.chibao.edu.domain.ports.output.message.publisher.payment.OrderCreatedPaymentRequestMessagePublisher;
+//import com.chibao.edu.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
 //import com.chibao.edu.domain.ports.output.message.publisher.restaurant_approval.OrderPaidRestaurantRequestMessagePublisher;
 //import com.chibao.edu.domain.ports.output.repository.CustomerRepository;
+//import com.chibao.edu.domain.ports.output.repository.IdempotencyKeyRepository;
 //import com.chibao.edu.domain.ports.output.repository.OrderRepository;
+//import com.chibao.edu.domain.ports.output.repository.OrderTrackingRepository;
+//import com.chibao.edu.domain.ports.output.repository.PaymentOutboxRepository;
+//import com.chibao.edu.domain.ports.output.repository.ProcessedMessageRepository;
 //import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
 //import org.mockito.Mockito;
 //import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -29,11 +37,36 @@
 //    }
 //
 //    @Bean
+//    public PaymentRequestMessagePublisher paymentRequestMessagePublisher() {
+//        return Mockito.mock(PaymentRequestMessagePublisher.class);
+//    }
+//
+//    @Bean
+//    public PaymentOutboxRepository paymentOutboxRepository() {
+//        return Mockito.mock(PaymentOutboxRepository.class);
+//    }
+//
+//    @Bean
+//    public ProcessedMessageRepository processedMessageRepository() {
+//        return Mockito.mock(ProcessedMessageRepository.class);
+//    }
+//
+//    @Bean
+//    public IdempotencyKeyRepository idempotencyKeyRepository() {
+//        return Mockito.mock(IdempotencyKeyRepository.class);
+//    }
+//
+//    @Bean
 //    public OrderRepository orderRepository() {
 //        return Mockito.mock(OrderRepository.class);
 //    }
 //
 //    @Bean
+//    public OrderTrackingRepository orderTrackingRepository() {
+//        return Mockito.mock(OrderTrackingRepository.class);
+//    }
+//
+//    @Bean
 //    public CustomerRepository customerRepository() {
 //        return Mockito.mock(CustomerRepository.class);
 //    }
@@ -44,8 +77,13 @@
 //    }
 //
 //    @Bean
+//    public IdGenerator idGenerator() {
+//        return new UuidV7Generator();
+//    }
+//
+//    @Bean
 //    public OrderDomainService orderDomainService() {
-//        return new OrderDomainServiceImpl();
+//        return new OrderDomainServiceImpl(idGenerator(), DomainClock.systemUtc());
 //    }
 //
 //}
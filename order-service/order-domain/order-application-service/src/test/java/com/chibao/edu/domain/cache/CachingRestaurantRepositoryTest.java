@@ -0,0 +1,138 @@
+package com.chibao.edu.domain.cache;
+
+import com.chibao.edu.domain.config.RestaurantCacheConfigData;
+import com.chibao.edu.domain.entity.Product;
+import com.chibao.edu.domain.entity.Restaurant;
+import com.chibao.edu.domain.ports.output.repository.RestaurantRepository;
+import com.chibao.edu.domain.value_object.ProductId;
+import com.chibao.edu.domain.value_object.RestaurantId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingRestaurantRepositoryTest {
+    private final RestaurantId restaurantId = new RestaurantId(UUID.randomUUID());
+    private final ProductId productId = new ProductId(UUID.randomUUID());
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        BlockingRestaurantRepository storage = new BlockingRestaurantRepository(loadStarted, releaseLoad);
+        CachingRestaurantRepository cache = new CachingRestaurantRepository(storage, new RestaurantCacheConfigData());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Optional<Restaurant>> leader = executor.submit(() -> cache.findRestaurantInformation(request()));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            Future<Optional<Restaurant>> single = executor.submit(() -> cache.findRestaurantInformation(request()));
+            Future<Map<RestaurantId, Restaurant>> batch =
+                    executor.submit(() -> cache.findRestaurantsInformation(List.of(request())));
+            // * both followers have to be parked on the leader's load before it is released
+            while (cache.getCoalescedCount() < 2) {
+                Thread.onSpinWait();
+            }
+            releaseLoad.countDown();
+
+            assertTrue(leader.get(5, TimeUnit.SECONDS).isPresent());
+            assertTrue(single.get(5, TimeUnit.SECONDS).isPresent());
+            assertTrue(batch.get(5, TimeUnit.SECONDS).containsKey(restaurantId));
+            assertEquals(1, storage.getLoadCount());
+            assertEquals(1, cache.getMissCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedLoadIsSharedAndNotCached() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        BlockingRestaurantRepository storage = new BlockingRestaurantRepository(loadStarted, releaseLoad);
+        storage.failNextLoad = true;
+        CachingRestaurantRepository cache = new CachingRestaurantRepository(storage, new RestaurantCacheConfigData());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Restaurant>> leader = executor.submit(() -> cache.findRestaurantInformation(request()));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            Future<Optional<Restaurant>> follower = executor.submit(() -> cache.findRestaurantInformation(request()));
+            while (cache.getCoalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            releaseLoad.countDown();
+
+            assertInstanceOf(IllegalStateException.class,
+                    assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(IllegalStateException.class,
+                    assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+            assertEquals(1, storage.getLoadCount());
+            // * the next lookup goes back to storage
+            assertTrue(cache.findRestaurantInformation(request()).isPresent());
+            assertEquals(2, storage.getLoadCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // TODO Helpers
+    private Restaurant request() {
+        return Restaurant.builder()
+                .id(restaurantId)
+                .products(List.of(new Product(productId)))
+                .build();
+    }
+
+    // ? answers every lookup with the restaurant; the first lookup blocks until released
+    private static class BlockingRestaurantRepository implements RestaurantRepository {
+        private final CountDownLatch loadStarted;
+        private final CountDownLatch releaseLoad;
+        private final AtomicInteger loadCount = new AtomicInteger();
+        private volatile boolean failNextLoad;
+
+        BlockingRestaurantRepository(CountDownLatch loadStarted, CountDownLatch releaseLoad) {
+            this.loadStarted = loadStarted;
+            this.releaseLoad = releaseLoad;
+        }
+
+        @Override
+        public Optional<Restaurant> findRestaurantInformation(Restaurant restaurant) {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                releaseLoad.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failNextLoad) {
+                failNextLoad = false;
+                throw new IllegalStateException("Storage is not available!");
+            }
+            return Optional.of(Restaurant.builder().id(restaurant.getId()).products(restaurant.getProducts()).build());
+        }
+
+        @Override
+        public Map<RestaurantId, Restaurant> findRestaurantsInformation(Collection<Restaurant> restaurants) {
+            Map<RestaurantId, Restaurant> result = new HashMap<>();
+            restaurants.forEach(restaurant -> findRestaurantInformation(restaurant)
+                    .ifPresent(found -> result.put(found.getId(), found)));
+            return result;
+        }
+
+        int getLoadCount() {
+            return loadCount.get();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.chibao.edu.domain.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidBloomFilterTest {
+    private static final int INSERTIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new UuidBloomFilter(0, FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> new UuidBloomFilter(INSERTIONS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new UuidBloomFilter(INSERTIONS, 1));
+    }
+
+    @Test
+    public void testSizingFollowsExpectedInsertionsAndRate() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        // * about 9.6 bits and 7 probes per element for a 1% rate
+        assertTrue(filter.getBitCount() >= 958_505);
+        assertEquals(0, filter.getBitCount() % Long.SIZE);
+        assertEquals(7, filter.getHashCount());
+        assertEquals(filter.getBitCount() / Byte.SIZE, filter.getMemoryBytes());
+        assertEquals(0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        List<UUID> inserted = randomUuids(INSERTIONS, 1);
+        inserted.forEach(filter::put);
+        for (UUID value : inserted) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateStaysNearTarget() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        randomUuids(INSERTIONS, 2).forEach(filter::put);
+        long falsePositives = randomUuids(INSERTIONS, 3).stream().filter(filter::mightContain).count();
+        double observedRate = (double) falsePositives / INSERTIONS;
+        assertTrue(observedRate < FALSE_POSITIVE_RATE * 2, "observed false positive rate: " + observedRate);
+        assertEquals(FALSE_POSITIVE_RATE, filter.expectedFalsePositiveRate(), FALSE_POSITIVE_RATE);
+    }
+
+    @Test
+    public void testConcurrentPutsLoseNoBits() throws Exception {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        int threads = 8;
+        List<List<UUID>> slices = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            slices.add(randomUuids(INSERTIONS / threads, 10 + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<UUID> slice : slices) {
+                futures.add(executor.submit(() -> slice.forEach(filter::put)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (List<UUID> slice : slices) {
+            for (UUID value : slice) {
+                assertTrue(filter.mightContain(value));
+            }
+        }
+    }
+
+    // TODO Helpers
+    private static List<UUID> randomUuids(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<UUID> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,105 @@
+package com.chibao.edu.domain.limiter;
+
+import com.chibao.edu.domain.config.ConcurrencyLimitConfigData;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AimdConcurrencyLimiterTest {
+
+    @Test
+    public void testRejectsCallsBeyondTheLimit() {
+        AimdConcurrencyLimiter limiter = limiter(2, 2, 2);
+        assertThrows(OrderServiceOverloadedException.class, () -> limiter.execute(() ->
+                limiter.execute(() ->
+                        limiter.execute(() -> "third"))));
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(2, limiter.getAcceptedCount());
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testBacksOffOncePerWindow() {
+        AimdConcurrencyLimiter limiter = limiter(100, 2, 200);
+        // * ten calls in flight all fail with a congestion signal; only the first sample decreases the limit
+        assertThrows(QueryTimeoutException.class, () -> failNested(limiter, 10));
+        assertEquals(50, limiter.getLimit());
+        assertEquals(10, limiter.getDroppedCount());
+
+        // * a call admitted after the decrease is a new window
+        assertThrows(QueryTimeoutException.class, () -> failNested(limiter, 1));
+        assertEquals(25, limiter.getLimit());
+    }
+
+    @Test
+    public void testNeverBacksOffBelowMinLimit() {
+        AimdConcurrencyLimiter limiter = limiter(4, 3, 10);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(QueryTimeoutException.class, () -> failNested(limiter, 1));
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void testGrowsOnlyWhileTheLimitIsUsed() {
+        AimdConcurrencyLimiter limiter = limiter(10, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.execute(() -> "fast");
+        }
+        assertEquals(10, limiter.getLimit());
+
+        // * two calls in flight use the whole limit of 2
+        AimdConcurrencyLimiter busyLimiter = limiter(2, 1, 100);
+        for (int i = 0; i < 10; i++) {
+            busyLimiter.execute(() -> busyLimiter.execute(() -> "fast"));
+        }
+        assertTrue(busyLimiter.getLimit() > 2);
+        assertTrue(busyLimiter.getLimit() <= 100);
+    }
+
+    @Test
+    public void testBatchTakesPermitsInProportion() {
+        AimdConcurrencyLimiter limiter = limiter(10, 10, 10);
+        assertThrows(OrderServiceOverloadedException.class, () -> limiter.execute(4, () ->
+                limiter.execute(7, () -> "batch")));
+        assertEquals("batch", limiter.execute(4, () -> limiter.execute(6, () -> "batch")));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testOversizedBatchRunsAloneAtTheLimit() {
+        AimdConcurrencyLimiter limiter = limiter(10, 10, 10);
+        assertThrows(OrderServiceOverloadedException.class, () -> limiter.execute(1, () ->
+                limiter.execute(25, () -> "batch")));
+        assertThrows(OrderServiceOverloadedException.class, () -> limiter.execute(25, () ->
+                limiter.execute(() -> "single")));
+        assertEquals("batch", limiter.execute(25, () -> "batch"));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    // TODO Helpers
+    private static AimdConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        ConcurrencyLimitConfigData.Limit config = new ConcurrencyLimitConfigData.Limit();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(minLimit);
+        config.setMaxLimit(maxLimit);
+        config.setBackoffRatio(0.5);
+        config.setLatencyThresholdMs(60_000L);
+        return new AimdConcurrencyLimiter("test", config);
+    }
+
+    // ? depth calls nested in each other, so all of them are in flight when the innermost one fails
+    private static void failNested(AimdConcurrencyLimiter limiter, int depth) {
+        limiter.execute(() -> {
+            if (depth > 1) {
+                try {
+                    failNested(limiter, depth - 1);
+                } catch (QueryTimeoutException ignored) {
+                    // * every level reports its own failure below
+                }
+            }
+            throw new QueryTimeoutException("Storage is too slow!");
+        });
+    }
+}
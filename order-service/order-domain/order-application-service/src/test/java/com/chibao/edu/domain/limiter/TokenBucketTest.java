@@ -0,0 +1,89 @@
+package com.chibao.edu.domain.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+    private static final long INTERVAL = 1_000_000L;
+    private static final int BURST = 5;
+    private static final long TOLERANCE = INTERVAL * BURST;
+    private static final long START = 42_000_000_000L;
+
+    @Test
+    public void testNewBucketAllowsOneBurst() {
+        TokenBucket bucket = new TokenBucket(START);
+        for (int i = 0; i < BURST; i++) {
+            assertTrue(bucket.tryAcquire(START, INTERVAL, TOLERANCE), "token " + i);
+        }
+        assertFalse(bucket.tryAcquire(START, INTERVAL, TOLERANCE));
+    }
+
+    @Test
+    public void testOneTokenIsAddedPerInterval() {
+        TokenBucket bucket = new TokenBucket(START);
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(START, INTERVAL, TOLERANCE);
+        }
+        assertFalse(bucket.tryAcquire(START + INTERVAL - 1, INTERVAL, TOLERANCE));
+        assertTrue(bucket.tryAcquire(START + INTERVAL, INTERVAL, TOLERANCE));
+        assertFalse(bucket.tryAcquire(START + INTERVAL, INTERVAL, TOLERANCE));
+    }
+
+    @Test
+    public void testIdleBucketDoesNotGrowBeyondBurst() {
+        TokenBucket bucket = new TokenBucket(START);
+        long later = START + 1_000 * INTERVAL;
+        int acquired = 0;
+        while (bucket.tryAcquire(later, INTERVAL, TOLERANCE)) {
+            acquired++;
+        }
+        assertEquals(BURST, acquired);
+    }
+
+    @Test
+    public void testRejectedRequestsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(START);
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(START, INTERVAL, TOLERANCE);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertFalse(bucket.tryAcquire(START, INTERVAL, TOLERANCE));
+        }
+        assertTrue(bucket.tryAcquire(START + INTERVAL, INTERVAL, TOLERANCE));
+    }
+
+    @Test
+    public void testConcurrentAcquiresNeverExceedBurst() throws Exception {
+        int burst = 1_000;
+        TokenBucket bucket = new TokenBucket(START);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < burst; i++) {
+                        if (bucket.tryAcquire(START, INTERVAL, INTERVAL * burst)) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            assertEquals(burst, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.chibao.edu.domain.metrics;
+
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.chibao.edu.domain.ports.output.message.publisher.restaurant_approval.RestaurantApprovalRequestMessagePublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboxPublisherMetricsPostProcessorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxPublisherMetricsPostProcessor postProcessor = new OutboxPublisherMetricsPostProcessor(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    public void testBatchIsTimedUntilEveryReceiptCompletes() {
+        List<CompletableFuture<PublishReceipt>> receipts = new ArrayList<>();
+        RestaurantApprovalRequestMessagePublisher adapter = message -> {
+            CompletableFuture<PublishReceipt> receipt = new CompletableFuture<>();
+            receipts.add(receipt);
+            return receipt;
+        };
+        RestaurantApprovalRequestMessagePublisher publisher = (RestaurantApprovalRequestMessagePublisher)
+                postProcessor.postProcessAfterInitialization(adapter, "restaurantApprovalRequestMessagePublisher");
+
+        publisher.publishAllAsync(List.of(message(), message()));
+        receipts.get(0).complete(new PublishReceipt("restaurant-approval-request", 0, 1L));
+        // * one row still in flight: the batch is not recorded yet
+        assertNull(meterRegistry.find(OutboxPublisherMetricsPostProcessor.OUTBOX_PUBLISH).timer());
+
+        receipts.get(1).completeExceptionally(new IllegalStateException("Broker is not available!"));
+        Timer timer = meterRegistry.get(OutboxPublisherMetricsPostProcessor.OUTBOX_PUBLISH)
+                .tag("publisher", RestaurantApprovalRequestMessagePublisher.class.getSimpleName())
+                .tag("method", "publishAllAsync")
+                .tag("outcome", "failure")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void testOtherBeansAreNotWrapped() {
+        Object bean = new Object();
+
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "bean"));
+    }
+
+    // TODO Helpers
+    private OrderApprovalOutboxMessage message() {
+        return OrderApprovalOutboxMessage.builder().build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.chibao.edu.domain.saga;
+
+import com.chibao.edu.domain.OrderDomainService;
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.dto.message.RestaurantApprovalResponse;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderCancelledEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.outbox.scheduler.payment.PaymentOutboxHelper;
+import com.chibao.edu.domain.ports.output.repository.OrderRepository;
+import com.chibao.edu.domain.ports.output.repository.ProcessedMessageRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjector;
+import com.chibao.edu.domain.value_object.OrderApprovalStatus;
+import com.chibao.edu.domain.value_object.OrderId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class OrderApprovalSagaTest {
+    private final UUID orderId = UUID.randomUUID();
+    private final Order order = mock(Order.class);
+
+    private OrderDomainService orderDomainService;
+    private ProcessedMessageRepository processedMessageRepository;
+    private PaymentOutboxHelper paymentOutboxHelper;
+    private OrderApprovalSaga orderApprovalSaga;
+
+    @BeforeEach
+    public void setUp() {
+        orderDomainService = mock(OrderDomainService.class);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        processedMessageRepository = mock(ProcessedMessageRepository.class);
+        paymentOutboxHelper = mock(PaymentOutboxHelper.class);
+        when(orderRepository.findOrders(any())).thenReturn(Map.of(new OrderId(orderId), order));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(processedMessageRepository.findProcessed(any())).thenReturn(Set.of());
+        orderApprovalSaga = new OrderApprovalSaga(orderDomainService, orderRepository,
+                new ProcessedMessageFilter(processedMessageRepository, DomainClock.fixed(Instant.EPOCH)),
+                mock(OrderTrackingProjector.class), paymentOutboxHelper);
+    }
+
+    @Test
+    public void testRejectedOrdersAreWrittenToThePaymentOutbox() {
+        OrderCancelledEvent orderCancelledEvent = mock(OrderCancelledEvent.class);
+        when(orderDomainService.cancelOrderPayment(eq(order), any())).thenReturn(orderCancelledEvent);
+
+        List<OrderCancelledEvent> orderCancelledEvents = orderApprovalSaga.process(
+                List.of(restaurantApprovalResponse(orderId, OrderApprovalStatus.REJECTED)));
+
+        assertEquals(List.of(orderCancelledEvent), orderCancelledEvents);
+        verify(paymentOutboxHelper).saveOrderCancelledOutboxMessages(List.of(orderCancelledEvent));
+    }
+
+    @Test
+    public void testInvalidTransitionIsMarkedButResponsesWithoutOrderAreNot() {
+        doThrow(new OrderDomainException("Order is not in correct state for approve operation!"))
+                .when(orderDomainService).approveOrder(order);
+        RestaurantApprovalResponse invalid = restaurantApprovalResponse(orderId, OrderApprovalStatus.APPROVED);
+        RestaurantApprovalResponse unresolved = restaurantApprovalResponse(UUID.randomUUID(),
+                OrderApprovalStatus.APPROVED);
+
+        assertTrue(orderApprovalSaga.process(List.of(invalid, unresolved)).isEmpty());
+
+        verify(paymentOutboxHelper).saveOrderCancelledOutboxMessages(List.of());
+        assertEquals(List.of(marker(invalid)), markedMessages());
+    }
+
+    // TODO Helpers
+    private RestaurantApprovalResponse restaurantApprovalResponse(UUID orderId,
+                                                                  OrderApprovalStatus orderApprovalStatus) {
+        return RestaurantApprovalResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .sagaId(UUID.randomUUID().toString())
+                .orderId(orderId.toString())
+                .restaurantId(UUID.randomUUID().toString())
+                .orderApprovalStatus(orderApprovalStatus)
+                .failureMessages(List.of())
+                .build();
+    }
+
+    private ProcessedMessage marker(RestaurantApprovalResponse restaurantApprovalResponse) {
+        return ProcessedMessage.builder()
+                .sagaId(UUID.fromString(restaurantApprovalResponse.getSagaId()))
+                .messageId(UUID.fromString(restaurantApprovalResponse.getId()))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProcessedMessage> markedMessages() {
+        ArgumentCaptor<List<ProcessedMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(processedMessageRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,141 @@
+package com.chibao.edu.domain.saga;
+
+import com.chibao.edu.domain.OrderDomainService;
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.dto.message.PaymentResponse;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderPaidEvent;
+import com.chibao.edu.domain.outbox.scheduler.approval.ApprovalOutboxHelper;
+import com.chibao.edu.domain.ports.output.repository.OrderRepository;
+import com.chibao.edu.domain.ports.output.repository.ProcessedMessageRepository;
+import com.chibao.edu.domain.projection.OrderTrackingProjector;
+import com.chibao.edu.domain.value_object.OrderId;
+import com.chibao.edu.domain.value_object.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class OrderPaymentSagaTest {
+    private final Map<OrderId, Order> storedOrders = new HashMap<>();
+
+    private OrderDomainService orderDomainService;
+    private OrderRepository orderRepository;
+    private ProcessedMessageRepository processedMessageRepository;
+    private ApprovalOutboxHelper approvalOutboxHelper;
+    private OrderPaymentSaga orderPaymentSaga;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        orderDomainService = mock(OrderDomainService.class);
+        orderRepository = mock(OrderRepository.class);
+        processedMessageRepository = mock(ProcessedMessageRepository.class);
+        approvalOutboxHelper = mock(ApprovalOutboxHelper.class);
+        when(orderRepository.findOrders(any())).thenAnswer(invocation -> {
+            Map<OrderId, Order> found = new HashMap<>();
+            ((Collection<OrderId>) invocation.getArgument(0)).forEach(orderId -> {
+                if (storedOrders.containsKey(orderId)) {
+                    found.put(orderId, storedOrders.get(orderId));
+                }
+            });
+            return found;
+        });
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(processedMessageRepository.findProcessed(any())).thenReturn(Set.of());
+        orderPaymentSaga = new OrderPaymentSaga(orderDomainService, orderRepository,
+                new ProcessedMessageFilter(processedMessageRepository, DomainClock.fixed(Instant.EPOCH)),
+                mock(OrderTrackingProjector.class), approvalOutboxHelper);
+    }
+
+    @Test
+    public void testPaidOrdersAreWrittenToTheApprovalOutbox() {
+        UUID orderId = storeOrder();
+        OrderPaidEvent orderPaidEvent = mock(OrderPaidEvent.class);
+        when(orderDomainService.payOrder(storedOrders.get(new OrderId(orderId)))).thenReturn(orderPaidEvent);
+
+        List<OrderPaidEvent> orderPaidEvents = orderPaymentSaga.process(List.of(paymentResponse(orderId)));
+
+        assertEquals(List.of(orderPaidEvent), orderPaidEvents);
+        verify(approvalOutboxHelper).saveOrderPaidOutboxMessages(List.of(orderPaidEvent));
+        assertEquals(1, markedMessages().size());
+    }
+
+    @Test
+    public void testDuplicatesAreAppliedOnce() {
+        UUID orderId = storeOrder();
+        PaymentResponse paymentResponse = paymentResponse(orderId);
+        PaymentResponse alreadyProcessed = paymentResponse(orderId);
+        when(processedMessageRepository.findProcessed(any())).thenReturn(Set.of(marker(alreadyProcessed)));
+
+        orderPaymentSaga.process(List.of(paymentResponse, paymentResponse, alreadyProcessed));
+
+        verify(orderDomainService, times(1)).payOrder(any());
+        assertEquals(List.of(marker(paymentResponse)), markedMessages());
+    }
+
+    @Test
+    public void testResponsesWithoutOrderAreNotMarked() {
+        UUID orderId = storeOrder();
+        PaymentResponse resolved = paymentResponse(orderId);
+        PaymentResponse unresolved = paymentResponse(UUID.randomUUID());
+
+        orderPaymentSaga.process(List.of(unresolved, resolved));
+
+        assertEquals(List.of(marker(resolved)), markedMessages());
+    }
+
+    @Test
+    public void testFullyProcessedBatchTouchesNothing() {
+        PaymentResponse paymentResponse = paymentResponse(storeOrder());
+        when(processedMessageRepository.findProcessed(any())).thenReturn(Set.of(marker(paymentResponse)));
+
+        assertTrue(orderPaymentSaga.process(List.of(paymentResponse)).isEmpty());
+        verify(orderRepository, never()).findOrders(any());
+        verifyNoInteractions(approvalOutboxHelper);
+        verify(processedMessageRepository, never()).saveAll(anyList());
+    }
+
+    // TODO Helpers
+    private UUID storeOrder() {
+        UUID orderId = UUID.randomUUID();
+        storedOrders.put(new OrderId(orderId), mock(Order.class));
+        return orderId;
+    }
+
+    private PaymentResponse paymentResponse(UUID orderId) {
+        return PaymentResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .sagaId(UUID.randomUUID().toString())
+                .orderId(orderId.toString())
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .failureMessages(List.of())
+                .build();
+    }
+
+    private ProcessedMessage marker(PaymentResponse paymentResponse) {
+        return ProcessedMessage.builder()
+                .sagaId(UUID.fromString(paymentResponse.getSagaId()))
+                .messageId(UUID.fromString(paymentResponse.getId()))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProcessedMessage> markedMessages() {
+        ArgumentCaptor<List<ProcessedMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(processedMessageRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -1,37 +1,49 @@
 package com.chibao.edu.domain;
 
+import com.chibao.edu.domain.clock.DomainClock;
 import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.entity.OrderItem;
 import com.chibao.edu.domain.entity.Product;
 import com.chibao.edu.domain.entity.Restaurant;
 import com.chibao.edu.domain.event.OrderCancelledEvent;
 import com.chibao.edu.domain.event.OrderCreatedEvent;
 import com.chibao.edu.domain.event.OrderPaidEvent;
 import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.id_generator.UuidV7Generator;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.List;
 
 @Slf4j
 public class OrderDomainServiceImpl implements OrderDomainService {
-    private static final String UTC = "UTC";
+    private final IdGenerator idGenerator;
+    private final DomainClock domainClock;
+
+    public OrderDomainServiceImpl() {
+        this(new UuidV7Generator(), DomainClock.systemUtc());
+    }
+
+    public OrderDomainServiceImpl(IdGenerator idGenerator, DomainClock domainClock) {
+        this.idGenerator = idGenerator;
+        this.domainClock = domainClock;
+    }
 
     @Override
     public OrderCreatedEvent validateAndInitializeOrder(Order order, Restaurant restaurant) {
         validateRestaurant(restaurant);
         setOrderProductInformation(order, restaurant);
         order.validateOrder();
-        order.initializeOrder();
+        order.initializeOrder(idGenerator);
         log.info("Order with id: {} is initialized", order.getId().getValue());
-        return new OrderCreatedEvent(order, ZonedDateTime.now(ZoneId.of(UTC)));
+        return new OrderCreatedEvent(order, domainClock.instant());
     }
 
     @Override
     public OrderPaidEvent payOrder(Order order) {
         order.pay();
         log.info("Order with id: {} is paid", order.getId().getValue());
-        return new OrderPaidEvent(order, ZonedDateTime.now(ZoneId.of(UTC)));
+        return new OrderPaidEvent(order, domainClock.instant());
     }
 
     @Override
@@ -42,14 +54,14 @@ public class OrderDomainServiceImpl implements OrderDomainService {
 
     @Override
     public OrderCancelledEvent cancelOrderPayment(Order order, List<String> failureMessages) {
-        order.initializeOrder();
+        order.initCancel(failureMessages);
         log.info("Order payment is cancelling for order id: {}", order.getId().getValue());
-        return new OrderCancelledEvent(order, ZonedDateTime.now(ZoneId.of(UTC)));
+        return new OrderCancelledEvent(order, domainClock.instant());
     }
 
     @Override
     public void cancelOrder(Order order, List<String> failureMessages) {
-        order.cancel();
+        order.cancel(failureMessages);
         log.info("Order with id: {} is cancelled", order.getId().getValue());
     }
 
@@ -62,12 +74,15 @@ public class OrderDomainServiceImpl implements OrderDomainService {
     }
 
     private void setOrderProductInformation(Order order, Restaurant restaurant) {
-        order.getItems().forEach(orderItem -> restaurant.getProducts().forEach(restaurantProduct -> {
+        // ? one hash lookup per item instead of scanning the whole restaurant catalog for each item
+        for (OrderItem orderItem : order.getItems()) {
             Product currentProduct = orderItem.getProduct();
-            if (currentProduct.equals(restaurantProduct)) {
-                currentProduct.updateWithConfirmedNameAndPrice(restaurantProduct.getName()
-                        , restaurantProduct.getPrice());
+            Product restaurantProduct = restaurant.findProduct(currentProduct.getId());
+            if (restaurantProduct == null) {
+                throw new OrderDomainException("Product with id: " + currentProduct.getId().getValue() +
+                        " is not available in restaurant with id: " + restaurant.getId().getValue() + "!");
             }
-        }));
+            currentProduct.updateWithConfirmedNameAndPrice(restaurantProduct.getName(), restaurantProduct.getPrice());
+        }
     }
 }
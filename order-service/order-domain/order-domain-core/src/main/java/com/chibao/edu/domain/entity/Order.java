@@ -1,6 +1,8 @@
 package com.chibao.edu.domain.entity;
 
 import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.state_machine.OrderStateMachine;
 import com.chibao.edu.domain.value_object.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -9,8 +11,8 @@ import lombok.experimental.SuperBuilder;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 // this is aggregate root for order service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -32,48 +34,48 @@ public class Order extends AggregateRoot<OrderId> {
 
     // TODO implementation methods
     // * ***********************************************
-    public void initializeOrder() {
-        setId(new OrderId(UUID.randomUUID()));
-        trackingId = new TrackingId(UUID.randomUUID());
+    public void initializeOrder(IdGenerator idGenerator) {
+        setId(new OrderId(idGenerator.generate()));
+        trackingId = new TrackingId(idGenerator.generate());
         orderStatus = OrderStatus.PENDING;
         initializeOrderItems();
     }
     // TODO State changing methods
     // * ***********************************************
     public void pay(){
-        if (orderStatus != OrderStatus.PENDING){
-            throw new OrderDomainException("the order is not in correct state for payment!");
-        }
-        orderStatus = OrderStatus.PAID;
+        transitionTo(OrderStatus.PAID, "the order is not in correct state for payment!");
     }
     // * ***********************************************
     public void approve(){
-        if (orderStatus != OrderStatus.PAID){
-            throw new OrderDomainException("the order is not in correct state for approval!");
-        }
-        orderStatus = OrderStatus.APPROVED;
+        transitionTo(OrderStatus.APPROVED, "the order is not in correct state for approval!");
     }
     // * ***********************************************
     public void initCancel(List<String> failureMessages){
-        if (orderStatus != OrderStatus.PAID){
-            throw new OrderDomainException("the order is not in correct state for cancel initialization!");
-        }
-        orderStatus = OrderStatus.CANCELLING;
+        transitionTo(OrderStatus.CANCELLING, "the order is not in correct state for cancel initialization!");
         updateFailureMessages(failureMessages);
     }
     // * ***********************************************
-    public void cancel(){
-        if (!(orderStatus == OrderStatus.CANCELLING || orderStatus == OrderStatus.PENDING)){
-            throw new OrderDomainException("the order is not in correct state for cancel operation!");
-        }
-        orderStatus = OrderStatus.CANCELLED;
+    public void cancel(List<String> failureMessages){
+        transitionTo(OrderStatus.CANCELLED, "the order is not in correct state for cancel operation!");
+        updateFailureMessages(failureMessages);
     }
 
     // TODO Helpers
+    private void transitionTo(OrderStatus targetStatus, String errorMessage) {
+        if (!OrderStateMachine.transition(orderStatus, targetStatus)) {
+            throw new OrderDomainException(errorMessage);
+        }
+        orderStatus = targetStatus;
+    }
+
     private void updateFailureMessages(List<String> failureMessages){
-        if (this.failureMessages != null && failureMessages != null){
-            this.failureMessages.addAll(failureMessages.stream().filter(String::isEmpty).toList());
+        if (failureMessages == null || failureMessages.isEmpty()) {
+            return;
         }
+        // ? keep the non-empty messages; the current list may be null or immutable when loaded from storage
+        List<String> updated = this.failureMessages == null ? new ArrayList<>() : new ArrayList<>(this.failureMessages);
+        failureMessages.stream().filter(message -> !message.isEmpty()).forEach(updated::add);
+        this.failureMessages = updated;
     }
     public void validateOrder() {
         validateInitialOrder();
@@ -81,12 +83,17 @@ public class Order extends AggregateRoot<OrderId> {
         validateItemsPrice();
     }
 
+    // ? single pass over the items: checks each item price and subtotal and sums the subtotals,
+    // * without stream/lambda allocation. Messages are only built once a check has failed.
     private void validateItemsPrice() {
-        Money orderItemsTotal = items.stream().map(orderItem -> {
+        Money orderItemsTotal = Money.ZERO;
+        for (OrderItem orderItem : items) {
             // ? validate each item price
-            validateItemPrice(orderItem);
-            return orderItem.getSubTotal();
-        }).reduce(Money.ZERO, Money::add);
+            if (!orderItem.isPriceValid()) {
+                throw itemPriceException(orderItem);
+            }
+            orderItemsTotal = orderItemsTotal.add(orderItem.getSubTotal());
+        }
 
         // ? validate total price of all items
         if (!price.equals(orderItemsTotal)) {
@@ -96,21 +103,19 @@ public class Order extends AggregateRoot<OrderId> {
         }
     }
 
-    private void validateItemPrice(OrderItem orderItem) {
-        if (!orderItem.isPriceValid()) {
-            throw new OrderDomainException("Order item price: " + orderItem.getPrice()
-                    + "is not valid for product" + orderItem.getProduct().getId().getValue());
-        }
+    private OrderDomainException itemPriceException(OrderItem orderItem) {
+        return new OrderDomainException("Order item price: " + orderItem.getPrice()
+                + "is not valid for product" + orderItem.getProduct().getId().getValue());
     }
 
     private void validateTotalPrice() {
-        if (price == null || price.isGreaterThanZero()) {
+        if (price == null || !price.isGreaterThanZero()) {
             throw new OrderDomainException("Total price must be greater than zero!");
         }
     }
 
     private void validateInitialOrder() {
-        if (orderStatus == null || this.getId() == null) {
+        if (orderStatus != null || this.getId() != null) {
             throw new OrderDomainException("Order is not in correct state for initialization!");
         }
     }
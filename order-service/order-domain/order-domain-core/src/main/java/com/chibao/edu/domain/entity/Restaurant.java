@@ -1,10 +1,14 @@
 package com.chibao.edu.domain.entity;
 
+import com.chibao.edu.domain.value_object.ProductId;
 import com.chibao.edu.domain.value_object.RestaurantId;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Getter
 @SuperBuilder
@@ -12,4 +16,22 @@ public class Restaurant extends AggregateRoot<RestaurantId> {
     private final List<Product> products;
     private boolean active;
 
+    // ? Immutable catalog keyed by product id, built once on first access and reused for every order
+    // * that is validated against this restaurant instance.
+    @Getter(lazy = true)
+    private final Map<ProductId, Product> productIndex = indexProducts();
+
+    public Product findProduct(ProductId productId) {
+        return getProductIndex().get(productId);
+    }
+
+    // TODO Helpers
+    private Map<ProductId, Product> indexProducts() {
+        if (products == null || products.isEmpty()) {
+            return Map.of();
+        }
+        // ? keep the last duplicate, same as the previous nested loop which overwrote on every match
+        return products.stream().collect(Collectors.toUnmodifiableMap(
+                Product::getId, Function.identity(), (first, second) -> second));
+    }
 }
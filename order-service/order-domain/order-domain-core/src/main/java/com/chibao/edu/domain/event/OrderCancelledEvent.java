@@ -3,11 +3,11 @@ package com.chibao.edu.domain.event;
 import com.chibao.edu.domain.entity.Order;
 import lombok.Getter;
 
-import java.time.ZonedDateTime;
+import java.time.Instant;
 
 @Getter
 public class OrderCancelledEvent extends OrderEvent{
-    public OrderCancelledEvent(Order order, ZonedDateTime createdAt) {
+    public OrderCancelledEvent(Order order, Instant createdAt) {
         super(order, createdAt);
     }
 }
@@ -3,14 +3,14 @@ package com.chibao.edu.domain.event;
 import com.chibao.edu.domain.entity.Order;
 import lombok.Getter;
 
-import java.time.ZonedDateTime;
+import java.time.Instant;
 
 @Getter
 public abstract class OrderEvent implements DomainEvent<Order>{
     private final Order order;
-    private final ZonedDateTime createdAt;
+    private final Instant createdAt;
 
-    public OrderEvent(Order order, ZonedDateTime createdAt) {
+    public OrderEvent(Order order, Instant createdAt) {
         this.order = order;
         this.createdAt = createdAt;
     }
@@ -0,0 +1,82 @@
+package com.chibao.edu.domain.state_machine;
+
+import com.chibao.edu.domain.value_object.OrderStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// ? Allowed order status transitions, precomputed once as one bitmask per source status.
+// * Every guard is a single array read and bit test. Each (from, to) edge has lock-free
+// * counters for allowed and rejected attempts, so we can see where orders get stuck
+// * (e.g. the PAID -> CANCELLING rate).
+public final class OrderStateMachine {
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    // * extra source row for orders that have no status yet
+    private static final int NO_STATUS = STATUSES.length;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS;
+    private static final int[] ALLOWED_TARGETS = new int[STATUSES.length + 1];
+    private static final LongAdder[][] ALLOWED = new LongAdder[STATUSES.length + 1][STATUSES.length];
+    private static final LongAdder[][] REJECTED = new LongAdder[STATUSES.length + 1][STATUSES.length];
+
+    static {
+        EnumMap<OrderStatus, Set<OrderStatus>> transitions = new EnumMap<>(OrderStatus.class);
+        transitions.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.PAID, OrderStatus.CANCELLED));
+        transitions.put(OrderStatus.PAID, EnumSet.of(OrderStatus.APPROVED, OrderStatus.CANCELLING));
+        transitions.put(OrderStatus.APPROVED, EnumSet.noneOf(OrderStatus.class));
+        transitions.put(OrderStatus.CANCELLING, EnumSet.of(OrderStatus.CANCELLED));
+        transitions.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        EnumMap<OrderStatus, Set<OrderStatus>> readOnly = new EnumMap<>(OrderStatus.class);
+        transitions.forEach((from, targets) -> {
+            targets.forEach(to -> ALLOWED_TARGETS[from.ordinal()] |= 1 << to.ordinal());
+            readOnly.put(from, Collections.unmodifiableSet(targets));
+        });
+        TRANSITIONS = Collections.unmodifiableMap(readOnly);
+
+        for (int from = 0; from <= NO_STATUS; from++) {
+            for (int to = 0; to < STATUSES.length; to++) {
+                ALLOWED[from][to] = new LongAdder();
+                REJECTED[from][to] = new LongAdder();
+            }
+        }
+    }
+
+    private OrderStateMachine() {
+    }
+
+    // ? checks the edge and records the attempt; returns false when the transition is not allowed
+    public static boolean transition(OrderStatus from, OrderStatus to) {
+        int fromIndex = index(from);
+        boolean allowed = (ALLOWED_TARGETS[fromIndex] & (1 << to.ordinal())) != 0;
+        (allowed ? ALLOWED : REJECTED)[fromIndex][to.ordinal()].increment();
+        return allowed;
+    }
+
+    public static boolean canTransition(OrderStatus from, OrderStatus to) {
+        return (ALLOWED_TARGETS[index(from)] & (1 << to.ordinal())) != 0;
+    }
+
+    public static Map<OrderStatus, Set<OrderStatus>> getTransitions() {
+        return TRANSITIONS;
+    }
+
+    // TODO Metrics
+    // ? from may be null for orders that were never initialized
+    public static long allowedCount(OrderStatus from, OrderStatus to) {
+        return ALLOWED[index(from)][to.ordinal()].sum();
+    }
+
+    public static long rejectedCount(OrderStatus from, OrderStatus to) {
+        return REJECTED[index(from)][to.ordinal()].sum();
+    }
+
+    // TODO Helpers
+    private static int index(OrderStatus status) {
+        return status == null ? NO_STATUS : status.ordinal();
+    }
+}
@@ -0,0 +1,55 @@
+package com.chibao.edu.domain;
+
+import com.chibao.edu.domain.clock.DomainClock;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderCancelledEvent;
+import com.chibao.edu.domain.exception.OrderDomainException;
+import com.chibao.edu.domain.id_generator.UuidV7Generator;
+import com.chibao.edu.domain.value_object.OrderId;
+import com.chibao.edu.domain.value_object.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderDomainServiceImplTest {
+    private final OrderDomainService orderDomainService =
+            new OrderDomainServiceImpl(new UuidV7Generator(), DomainClock.fixed(Instant.EPOCH));
+
+    @Test
+    public void testFailedPaymentMovesPaidOrderToCancelling() {
+        OrderId orderId = new OrderId(UUID.randomUUID());
+        Order order = order(orderId, OrderStatus.PAID);
+
+        OrderCancelledEvent orderCancelledEvent =
+                orderDomainService.cancelOrderPayment(order, List.of("Payment failed!"));
+
+        assertEquals(OrderStatus.CANCELLING, order.getOrderStatus());
+        // * the order keeps its identity: cancelling must not re-initialize it
+        assertEquals(orderId, order.getId());
+        assertEquals(List.of("Payment failed!"), order.getFailureMessages());
+        assertSame(order, orderCancelledEvent.getOrder());
+        assertEquals(Instant.EPOCH, orderCancelledEvent.getCreatedAt());
+    }
+
+    @Test
+    public void testCancelOrderPaymentRejectsOrderThatIsNotPaid() {
+        Order order = order(new OrderId(UUID.randomUUID()), OrderStatus.PENDING);
+
+        assertThrows(OrderDomainException.class,
+                () -> orderDomainService.cancelOrderPayment(order, List.of("Payment failed!")));
+        assertEquals(OrderStatus.PENDING, order.getOrderStatus());
+    }
+
+    // TODO Helpers
+    private Order order(OrderId orderId, OrderStatus orderStatus) {
+        return Order.builder()
+                .id(orderId)
+                .orderStatus(orderStatus)
+                .items(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.chibao.edu.domain.state_machine;
+
+import com.chibao.edu.domain.value_object.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStateMachineTest {
+
+    @Test
+    public void testAllowedTransitions() {
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.PENDING, OrderStatus.PAID));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.PENDING, OrderStatus.CANCELLED));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.PAID, OrderStatus.APPROVED));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.PAID, OrderStatus.CANCELLING));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.CANCELLING, OrderStatus.CANCELLED));
+    }
+
+    @Test
+    public void testRejectedTransitions() {
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.PENDING, OrderStatus.APPROVED));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.PAID, OrderStatus.CANCELLED));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.APPROVED, OrderStatus.CANCELLED));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.CANCELLED, OrderStatus.PENDING));
+        assertFalse(OrderStateMachine.canTransition(null, OrderStatus.PAID));
+    }
+
+    @Test
+    public void testBitmaskMatchesTransitionTable() {
+        Map<OrderStatus, Set<OrderStatus>> transitions = OrderStateMachine.getTransitions();
+        for (OrderStatus from : OrderStatus.values()) {
+            for (OrderStatus to : OrderStatus.values()) {
+                assertEquals(transitions.get(from).contains(to), OrderStateMachine.canTransition(from, to),
+                        from + " -> " + to);
+            }
+        }
+        assertThrows(UnsupportedOperationException.class,
+                () -> transitions.get(OrderStatus.PENDING).add(OrderStatus.APPROVED));
+    }
+
+    @Test
+    public void testTransitionCountsAllowedAndRejectedAttempts() {
+        // * counters are global, so only the deltas of this test are checked
+        long allowedBefore = OrderStateMachine.allowedCount(OrderStatus.PAID, OrderStatus.CANCELLING);
+        long rejectedBefore = OrderStateMachine.rejectedCount(OrderStatus.APPROVED, OrderStatus.CANCELLING);
+
+        assertTrue(OrderStateMachine.transition(OrderStatus.PAID, OrderStatus.CANCELLING));
+        assertFalse(OrderStateMachine.transition(OrderStatus.APPROVED, OrderStatus.CANCELLING));
+        assertFalse(OrderStateMachine.transition(OrderStatus.APPROVED, OrderStatus.CANCELLING));
+
+        assertEquals(allowedBefore + 1, OrderStateMachine.allowedCount(OrderStatus.PAID, OrderStatus.CANCELLING));
+        assertEquals(rejectedBefore + 2, OrderStateMachine.rejectedCount(OrderStatus.APPROVED, OrderStatus.CANCELLING));
+    }
+}
@@ -0,0 +1,57 @@
+package com.chibao.edu.order.messaging.listener.kafka;
+
+import com.chibao.edu.CustomerAvroModel;
+import com.chibao.edu.domain.ports.input.message.listener.customer.CustomerMessageListener;
+import com.chibao.edu.kafka.consumer.KafkaConsumer;
+import com.chibao.edu.order.messaging.mapper.OrderMessagingDataMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// ? Feeds customers created after startup into the customer existence filter. Every instance keeps its own filter,
+// * so every instance has to read every partition: the group id gets a per-instance suffix, which makes each
+// * instance the only member of its group. On assignment the consumer seeks to the filter's replay point, taken
+// * before the seed scan, so nothing created between the scan and the consumer start is missed.
+// * Registering an id twice is harmless, so neither the overlap nor a redelivered poll needs dedup.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CustomerKafkaListener implements KafkaConsumer<CustomerAvroModel>, ConsumerSeekAware {
+    CustomerMessageListener customerMessageListener;
+    OrderMessagingDataMapper orderMessagingDataMapper;
+
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.customer-consumer-group-id}",
+            groupId = "${kafka-consumer-config.customer-consumer-group-id}-${random.uuid}",
+            topics = "${order-service.customer-topic-name}")
+    public void receive(@Payload List<CustomerAvroModel> messages,
+                        @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
+                        @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+                        @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+        log.info("{} customer created messages received with keys: {}, partitions: {} and offsets: {}",
+                messages.size(), keys, partitions, offsets);
+        messages.forEach(customerAvroModel -> customerMessageListener.customerCreated(
+                orderMessagingDataMapper.customerAvroModelToCustomerModel(customerAvroModel)));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        customerMessageListener.replayFrom().ifPresent(replayFrom -> {
+            // * partitions without a record at or after the timestamp are moved to their end
+            callback.seekToTimestamp(assignments.keySet(), replayFrom.toEpochMilli());
+            log.info("Customer topic partitions: {} are replayed from {}", assignments.keySet(), replayFrom);
+        });
+    }
+}
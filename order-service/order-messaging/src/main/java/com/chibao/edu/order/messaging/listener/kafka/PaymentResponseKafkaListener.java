@@ -0,0 +1,42 @@
+package com.chibao.edu.order.messaging.listener.kafka;
+
+import com.chibao.edu.PaymentResponseAvroModel;
+import com.chibao.edu.domain.ports.input.message.listener.payment.PaymentResponseMessageListener;
+import com.chibao.edu.kafka.consumer.KafkaConsumer;
+import com.chibao.edu.order.messaging.mapper.OrderMessagingDataMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// ? Hands every poll of the payment response topic to the saga as one batch. An exception fails the whole poll,
+// * which Kafka redelivers; responses that were already applied are skipped by the processed message store.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentResponseKafkaListener implements KafkaConsumer<PaymentResponseAvroModel> {
+    PaymentResponseMessageListener paymentResponseMessageListener;
+    OrderMessagingDataMapper orderMessagingDataMapper;
+
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.payment-consumer-group-id}",
+            topics = "${order-service.payment-response-topic-name}")
+    public void receive(@Payload List<PaymentResponseAvroModel> messages,
+                        @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
+                        @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+                        @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+        log.info("{} payment responses received with keys: {}, partitions: {} and offsets: {}",
+                messages.size(), keys, partitions, offsets);
+        paymentResponseMessageListener.paymentResponses(messages.stream()
+                .map(orderMessagingDataMapper::paymentResponseAvroModelToPaymentResponse)
+                .toList());
+    }
+}
@@ -0,0 +1,42 @@
+package com.chibao.edu.order.messaging.listener.kafka;
+
+import com.chibao.edu.RestaurantApprovalResponseAvroModel;
+import com.chibao.edu.domain.ports.input.message.listener.restaurant_approval.RestaurantApprovalResponseMessageListener;
+import com.chibao.edu.kafka.consumer.KafkaConsumer;
+import com.chibao.edu.order.messaging.mapper.OrderMessagingDataMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// ? Hands every poll of the restaurant approval response topic to the saga as one batch. Records are keyed by
+// * order id, so responses of one order arrive in order within the poll.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RestaurantApprovalResponseKafkaListener implements KafkaConsumer<RestaurantApprovalResponseAvroModel> {
+    RestaurantApprovalResponseMessageListener restaurantApprovalResponseMessageListener;
+    OrderMessagingDataMapper orderMessagingDataMapper;
+
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.restaurant-approval-consumer-group-id}",
+            topics = "${order-service.restaurant-approval-response-topic-name}")
+    public void receive(@Payload List<RestaurantApprovalResponseAvroModel> messages,
+                        @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
+                        @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+                        @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+        log.info("{} restaurant approval responses received with keys: {}, partitions: {} and offsets: {}",
+                messages.size(), keys, partitions, offsets);
+        restaurantApprovalResponseMessageListener.restaurantApprovalResponses(messages.stream()
+                .map(orderMessagingDataMapper::restaurantApprovalResponseAvroModelToRestaurantApprovalResponse)
+                .toList());
+    }
+}
@@ -0,0 +1,130 @@
+package com.chibao.edu.order.messaging.mapper;
+
+import com.chibao.edu.CustomerAvroModel;
+import com.chibao.edu.PaymentOrderStatus;
+import com.chibao.edu.PaymentRequestAvroModel;
+import com.chibao.edu.PaymentResponseAvroModel;
+import com.chibao.edu.RestaurantApprovalRequestAvroModel;
+import com.chibao.edu.RestaurantApprovalResponseAvroModel;
+import com.chibao.edu.RestaurantOrderStatus;
+import com.chibao.edu.domain.dto.message.CustomerModel;
+import com.chibao.edu.domain.dto.message.PaymentResponse;
+import com.chibao.edu.domain.dto.message.RestaurantApprovalResponse;
+import com.chibao.edu.domain.entity.Order;
+import com.chibao.edu.domain.event.OrderCreatedEvent;
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.id_generator.IdGenerator;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalEventPayload;
+import com.chibao.edu.domain.outbox.model.payment.OrderPaymentEventPayload;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// ? Maps order domain events to the Avro records published to Kafka.
+// * One saga runs per order, so the order id doubles as the saga id.
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderMessagingDataMapper {
+    IdGenerator idGenerator;
+
+    public PaymentRequestAvroModel orderCreatedEventToPaymentRequestAvroModel(OrderCreatedEvent orderCreatedEvent) {
+        return orderToPaymentRequestAvroModel(orderCreatedEvent.getOrder(), orderCreatedEvent.getCreatedAt(),
+                PaymentOrderStatus.PENDING);
+    }
+
+    public RestaurantApprovalRequestAvroModel orderApprovalEventPayloadToRestaurantApprovalRequestAvroModel(
+            UUID sagaId, OrderApprovalEventPayload payload) {
+        return RestaurantApprovalRequestAvroModel.newBuilder()
+                .setId(idGenerator.generate())
+                .setSagaId(sagaId)
+                .setOrderId(UUID.fromString(payload.getOrderId()))
+                .setRestaurantId(UUID.fromString(payload.getRestaurantId()))
+                .setRestaurantOrderStatus(RestaurantOrderStatus.valueOf(payload.getRestaurantOrderStatus()))
+                .setProducts(payload.getProducts().stream()
+                        .map(product -> com.chibao.edu.Product.newBuilder()
+                                .setId(product.getId())
+                                .setQuantity(product.getQuantity())
+                                .build())
+                        .toList())
+                .setPrice(payload.getPrice())
+                .setCreatedAt(payload.getCreatedAt())
+                .build();
+    }
+
+    public PaymentRequestAvroModel orderPaymentEventPayloadToPaymentRequestAvroModel(UUID sagaId,
+                                                                                     OrderPaymentEventPayload payload) {
+        return PaymentRequestAvroModel.newBuilder()
+                .setId(idGenerator.generate())
+                .setSagaId(sagaId)
+                .setCustomerId(UUID.fromString(payload.getCustomerId()))
+                .setOrderId(UUID.fromString(payload.getOrderId()))
+                .setPrice(payload.getPrice())
+                .setCreatedAt(payload.getCreatedAt())
+                .setPaymentOrderStatus(PaymentOrderStatus.valueOf(payload.getPaymentOrderStatus()))
+                .build();
+    }
+
+    public PaymentResponse paymentResponseAvroModelToPaymentResponse(PaymentResponseAvroModel paymentResponseAvroModel) {
+        return PaymentResponse.builder()
+                .id(paymentResponseAvroModel.getId().toString())
+                .sagaId(paymentResponseAvroModel.getSagaId().toString())
+                .paymentId(paymentResponseAvroModel.getPaymentId().toString())
+                .customerId(paymentResponseAvroModel.getCustomerId().toString())
+                .orderId(paymentResponseAvroModel.getOrderId().toString())
+                .price(paymentResponseAvroModel.getPrice())
+                .createdAt(paymentResponseAvroModel.getCreatedAt())
+                .paymentStatus(com.chibao.edu.domain.value_object.PaymentStatus.valueOf(
+                        paymentResponseAvroModel.getPaymentStatus().name()))
+                .failureMessages(paymentResponseAvroModel.getFailureMessages())
+                .build();
+    }
+
+    public RestaurantApprovalResponse restaurantApprovalResponseAvroModelToRestaurantApprovalResponse(
+            RestaurantApprovalResponseAvroModel restaurantApprovalResponseAvroModel) {
+        return RestaurantApprovalResponse.builder()
+                .id(restaurantApprovalResponseAvroModel.getId().toString())
+                .sagaId(restaurantApprovalResponseAvroModel.getSagaId().toString())
+                .restaurantId(restaurantApprovalResponseAvroModel.getRestaurantId().toString())
+                .orderId(restaurantApprovalResponseAvroModel.getOrderId().toString())
+                .createdAt(restaurantApprovalResponseAvroModel.getCreatedAt())
+                .orderApprovalStatus(com.chibao.edu.domain.value_object.OrderApprovalStatus.valueOf(
+                        restaurantApprovalResponseAvroModel.getOrderApprovalStatus().name()))
+                .failureMessages(restaurantApprovalResponseAvroModel.getFailureMessages())
+                .build();
+    }
+
+    public CustomerModel customerAvroModelToCustomerModel(CustomerAvroModel customerAvroModel) {
+        return CustomerModel.builder()
+                .id(customerAvroModel.getId().toString())
+                .username(customerAvroModel.getUsername())
+                .firstName(customerAvroModel.getFirstName())
+                .lastName(customerAvroModel.getLastName())
+                .build();
+    }
+
+    public PublishReceipt sendResultToPublishReceipt(SendResult<?, ?> sendResult) {
+        RecordMetadata metadata = sendResult.getRecordMetadata();
+        return new PublishReceipt(metadata.topic(), metadata.partition(), metadata.offset());
+    }
+
+    // TODO Helpers
+    private PaymentRequestAvroModel orderToPaymentRequestAvroModel(Order order, Instant createdAt,
+                                                                   PaymentOrderStatus paymentOrderStatus) {
+        return PaymentRequestAvroModel.newBuilder()
+                .setId(idGenerator.generate())
+                .setSagaId(order.getId().getValue())
+                .setCustomerId(order.getCustomerId().getValue())
+                .setOrderId(order.getId().getValue())
+                .setPrice(order.getPrice().getAmount())
+                .setCreatedAt(createdAt)
+                .setPaymentOrderStatus(paymentOrderStatus)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.chibao.edu.order.messaging.publisher.kafka;
+
+import com.chibao.edu.PaymentRequestAvroModel;
+import com.chibao.edu.domain.config.OrderServiceConfigData;
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.OutboxPayloadException;
+import com.chibao.edu.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.chibao.edu.domain.outbox.model.payment.PaymentOutboxMessage;
+import com.chibao.edu.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
+import com.chibao.edu.kafka.producer.model.RecordSendResult;
+import com.chibao.edu.kafka.producer.service.KafkaProducer;
+import com.chibao.edu.order.messaging.mapper.OrderMessagingDataMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// ? Kafka adapter for the payment outbox. Records are keyed by order id, so every message of one order lands
+// * on the same partition and is consumed in the order it was written.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentRequestKafkaMessagePublisher implements PaymentRequestMessagePublisher {
+    OrderMessagingDataMapper orderMessagingDataMapper;
+    KafkaProducer<String, PaymentRequestAvroModel> kafkaProducer;
+    OrderServiceConfigData orderServiceConfigData;
+    ObjectMapper objectMapper;
+
+    @Override
+    public CompletableFuture<PublishReceipt> publishAsync(PaymentOutboxMessage paymentOutboxMessage) {
+        String key = paymentOutboxMessage.getOrderId().toString();
+        PaymentRequestAvroModel paymentRequestAvroModel;
+        try {
+            paymentRequestAvroModel = toPaymentRequestAvroModel(paymentOutboxMessage);
+        } catch (OutboxPayloadException e) {
+            // ? a retry would read the same payload again, so the relay parks the row instead of marking it FAILED
+            log.error("Could not send PaymentRequestAvroModel for order id: {} and outbox id: {}, row is parked",
+                    key, paymentOutboxMessage.getId(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+        log.info("PaymentRequestAvroModel is sent to message bus for order id: {} and saga id: {}",
+                key, paymentOutboxMessage.getSagaId());
+        return kafkaProducer.send(orderServiceConfigData.getPaymentRequestTopicName(), key, paymentRequestAvroModel)
+                .thenApply(orderMessagingDataMapper::sendResultToPublishReceipt)
+                .whenComplete((publishReceipt, ex) -> {
+                    if (ex != null) {
+                        // ? covers records the producer could not even accept; the relay retries FAILED rows
+                        log.error("Error while sending PaymentRequestAvroModel for order id: {} and outbox id: {}",
+                                key, paymentOutboxMessage.getId(), ex);
+                    }
+                });
+    }
+
+    // ? The relay's batch goes out as one sendAll. Rows are handed to the producer in batch order, and each row's
+    // * future completes as soon as its record does, so one slow partition does not keep the acked rows of the
+    // * batch from being marked.
+    @Override
+    public List<CompletableFuture<PublishReceipt>> publishAllAsync(List<PaymentOutboxMessage> paymentOutboxMessages) {
+        List<CompletableFuture<PublishReceipt>> receipts = new ArrayList<>(paymentOutboxMessages.size());
+        List<CompletableFuture<PublishReceipt>> sentReceipts = new ArrayList<>(paymentOutboxMessages.size());
+        List<PaymentOutboxMessage> sentMessages = new ArrayList<>(paymentOutboxMessages.size());
+        List<Map.Entry<String, PaymentRequestAvroModel>> records = new ArrayList<>(paymentOutboxMessages.size());
+        for (PaymentOutboxMessage paymentOutboxMessage : paymentOutboxMessages) {
+            try {
+                records.add(Map.entry(paymentOutboxMessage.getOrderId().toString(),
+                        toPaymentRequestAvroModel(paymentOutboxMessage)));
+                CompletableFuture<PublishReceipt> receipt = new CompletableFuture<>();
+                receipts.add(receipt);
+                sentReceipts.add(receipt);
+                sentMessages.add(paymentOutboxMessage);
+            } catch (OutboxPayloadException e) {
+                log.error("Could not send PaymentRequestAvroModel for order id: {} and outbox id: {}, row is parked",
+                        paymentOutboxMessage.getOrderId(), paymentOutboxMessage.getId(), e);
+                receipts.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        if (records.isEmpty()) {
+            return receipts;
+        }
+        kafkaProducer.sendAll(orderServiceConfigData.getPaymentRequestTopicName(), records, (result, index) -> {
+            if (result.isSuccess()) {
+                sentReceipts.get(index).complete(
+                        orderMessagingDataMapper.sendResultToPublishReceipt(result.getSendResult()));
+            } else {
+                log.error("Error while sending PaymentRequestAvroModel for order id: {} and outbox id: {}",
+                        result.getKey(), sentMessages.get(index).getId(), result.getException());
+                sentReceipts.get(index).completeExceptionally(result.getException());
+            }
+        }).thenAccept(results -> log.info("{} of {} PaymentRequestAvroModels are sent to message bus",
+                results.stream().filter(RecordSendResult::isSuccess).count(), results.size()));
+        return receipts;
+    }
+
+    // TODO Helpers
+    // ? the conversion is pure, so a payload it fails on (malformed JSON, ids, enums or fields the record rejects)
+    // * fails the same way on every retry
+    private PaymentRequestAvroModel toPaymentRequestAvroModel(PaymentOutboxMessage paymentOutboxMessage) {
+        try {
+            return orderMessagingDataMapper.orderPaymentEventPayloadToPaymentRequestAvroModel(
+                    paymentOutboxMessage.getSagaId(),
+                    objectMapper.readValue(paymentOutboxMessage.getPayload(), OrderPaymentEventPayload.class));
+        } catch (JsonProcessingException | RuntimeException e) {
+            throw new OutboxPayloadException("Could not read OrderPaymentEventPayload of outbox id: "
+                    + paymentOutboxMessage.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.chibao.edu.order.messaging.publisher.kafka;
+
+import com.chibao.edu.RestaurantApprovalRequestAvroModel;
+import com.chibao.edu.domain.config.OrderServiceConfigData;
+import com.chibao.edu.domain.event.publisher.PublishReceipt;
+import com.chibao.edu.domain.outbox.model.OutboxPayloadException;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalEventPayload;
+import com.chibao.edu.domain.outbox.model.approval.OrderApprovalOutboxMessage;
+import com.chibao.edu.domain.ports.output.message.publisher.restaurant_approval.RestaurantApprovalRequestMessagePublisher;
+import com.chibao.edu.kafka.producer.service.KafkaProducer;
+import com.chibao.edu.order.messaging.mapper.OrderMessagingDataMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+// ? Kafka adapter for the restaurant approval outbox, keyed by order id like the payment requests
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RestaurantApprovalRequestKafkaMessagePublisher implements RestaurantApprovalRequestMessagePublisher {
+    OrderMessagingDataMapper orderMessagingDataMapper;
+    KafkaProducer<String, RestaurantApprovalRequestAvroModel> kafkaProducer;
+    OrderServiceConfigData orderServiceConfigData;
+    ObjectMapper objectMapper;
+
+    @Override
+    public CompletableFuture<PublishReceipt> publishAsync(OrderApprovalOutboxMessage orderApprovalOutboxMessage) {
+        String key = orderApprovalOutboxMessage.getOrderId().toString();
+        RestaurantApprovalRequestAvroModel restaurantApprovalRequestAvroModel;
+        try {
+            restaurantApprovalRequestAvroModel = toRestaurantApprovalRequestAvroModel(orderApprovalOutboxMessage);
+        } catch (OutboxPayloadException e) {
+            // ? a retry would read the same payload again, so the relay parks the row instead of marking it FAILED
+            log.error("Could not send RestaurantApprovalRequestAvroModel for order id: {} and outbox id: {}, "
+                    + "row is parked", key, orderApprovalOutboxMessage.getId(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return kafkaProducer.send(orderServiceConfigData.getRestaurantApprovalRequestTopicName(), key,
+                        restaurantApprovalRequestAvroModel)
+                .thenApply(orderMessagingDataMapper::sendResultToPublishReceipt)
+                .whenComplete((publishReceipt, ex) -> {
+                    if (ex != null) {
+                        log.error("Error while sending RestaurantApprovalRequestAvroModel for order id: {} "
+                                + "and outbox id: {}", key, orderApprovalOutboxMessage.getId(), ex);
+                    }
+                });
+    }
+
+    // TODO Helpers
+    // ? the conversion is pure, so a payload it fails on (malformed JSON, ids, enums or fields the record rejects)
+    // * fails the same way on every retry
+    private RestaurantApprovalRequestAvroModel toRestaurantApprovalRequestAvroModel(
+            OrderApprovalOutboxMessage orderApprovalOutboxMessage) {
+        try {
+            return orderMessagingDataMapper.orderApprovalEventPayloadToRestaurantApprovalRequestAvroModel(
+                    orderApprovalOutboxMessage.getSagaId(),
+                    objectMapper.readValue(orderApprovalOutboxMessage.getPayload(), OrderApprovalEventPayload.class));
+        } catch (JsonProcessingException | RuntimeException e) {
+            throw new OutboxPayloadException("Could not read OrderApprovalEventPayload of outbox id: "
+                    + orderApprovalOutboxMessage.getId(), e);
+        }
+    }
+}